@@ -0,0 +1,65 @@
+package hjpark.janggibe.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동시에 DB 작업을 하는 요청 수를 permits개로 묶는다.
+ * <p>
+ * 가상 스레드에서는 요청 스레드가 사실상 무제한이라, 제한이 없으면 넘치는 요청이 모두 커넥션 풀 앞에 몰린다.
+ * 여기서 세마포어로 기다리게 하면 대기는 값싼 가상 스레드 파킹으로 끝나고, acquireTimeout이 지나면 503으로 돌려보낸다.
+ */
+public class DbConcurrencyInterceptor implements HandlerInterceptor {
+
+    private static final String ACQUIRED = DbConcurrencyInterceptor.class.getName() + ".ACQUIRED";
+
+    private final Semaphore semaphore;
+    private final long acquireTimeoutNanos;
+
+    public DbConcurrencyInterceptor(int permits, Duration acquireTimeout) {
+        this.semaphore = new Semaphore(permits, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+            return false;
+        }
+        request.setAttribute(ACQUIRED, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ACQUIRED) != null) {
+            request.removeAttribute(ACQUIRED);
+            semaphore.release();
+        }
+    }
+
+    public int availablePermits() {
+        return semaphore.availablePermits();
+    }
+}
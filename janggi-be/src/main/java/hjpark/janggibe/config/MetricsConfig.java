@@ -0,0 +1,78 @@
+package hjpark.janggibe.config;
+
+import hjpark.janggibe.service.GameClockService;
+import hjpark.janggibe.service.GameReaper;
+import hjpark.janggibe.service.GameStateCache;
+import hjpark.janggibe.service.MatchmakingService;
+import hjpark.janggibe.service.MoveWriteBehind;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 게임 서버 상태 게이지/카운터. /actuator/prometheus로 나간다.
+ * <p>
+ * 이동 단계별 시간은 MoveMetrics, 엔드포인트별 응답 시간은 스프링의 http.server.requests가 잰다.
+ * 여기서는 각 서비스가 이미 들고 있는 값을 스크레이프할 때 읽기만 한다.
+ * 메트릭 노출/히스토그램 기본 설정은 janggi-defaults.properties에 있다.
+ */
+@Configuration
+@PropertySource(value = "classpath:janggi-defaults.properties", encoding = "UTF-8")
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder janggiMeters(GameStateCache gameStateCache,
+                                    GameClockService gameClockService,
+                                    MatchmakingService matchmakingService,
+                                    MoveWriteBehind moveWriteBehind,
+                                    ObjectProvider<GameReaper> gameReaper) {
+        return registry -> {
+            Gauge.builder("janggi.games.active", gameStateCache, GameStateCache::size)
+                    .description("메모리에 올라온 진행 중 게임 수")
+                    .register(registry);
+            Gauge.builder("janggi.clocks.active", gameClockService, GameClockService::activeClocks)
+                    .description("돌고 있는 대국 시계 수")
+                    .register(registry);
+            Gauge.builder("janggi.matchmaking.waiting", matchmakingService, MatchmakingService::waitingCount)
+                    .description("매칭 대기 중인 플레이어 수")
+                    .register(registry);
+
+            Gauge.builder("janggi.moves.write_behind.queued", moveWriteBehind, MoveWriteBehind::queued)
+                    .description("아직 쓰지 않은 이동 기록 수")
+                    .register(registry);
+            FunctionCounter.builder("janggi.moves.write_behind.written", moveWriteBehind, MoveWriteBehind::getWrittenMoves)
+                    .description("쓰기 지연 큐로 쓴 이동 기록 수")
+                    .register(registry);
+            FunctionCounter.builder("janggi.moves.write_behind.batches", moveWriteBehind, MoveWriteBehind::getWrittenBatches)
+                    .tag("result", "ok")
+                    .register(registry);
+            FunctionCounter.builder("janggi.moves.write_behind.batches", moveWriteBehind, MoveWriteBehind::getFailedBatches)
+                    .tag("result", "failed")
+                    .register(registry);
+            FunctionCounter.builder("janggi.moves.write_behind.conflicts", moveWriteBehind, MoveWriteBehind::getConflictedMoves)
+                    .description("수 번호 충돌로 격리한 이동 수")
+                    .register(registry);
+
+            gameReaper.ifAvailable(reaper -> {
+                FunctionCounter.builder("janggi.reaper.abandoned", reaper, GameReaper::getReapedWaiting)
+                        .description("ABANDONED로 정리한 게임 수")
+                        .tag("status", "waiting")
+                        .register(registry);
+                FunctionCounter.builder("janggi.reaper.abandoned", reaper, GameReaper::getReapedInProgress)
+                        .description("ABANDONED로 정리한 게임 수")
+                        .tag("status", "in_progress")
+                        .register(registry);
+                TimeGauge.builder("janggi.reaper.last_run", reaper, TimeUnit.MILLISECONDS, GameReaper::getLastRunMillis)
+                        .description("마지막 정리 주기에 걸린 시간")
+                        .register(registry);
+            });
+        };
+    }
+}
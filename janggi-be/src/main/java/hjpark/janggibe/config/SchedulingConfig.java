@@ -0,0 +1,27 @@
+package hjpark.janggibe.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * 주기 작업(@Scheduled) 활성화. 현재는 GameReaper만 쓴다.
+ * <p>
+ * 스케줄러를 따로 지정하지 않으면 STOMP 브로커의 하트비트 스케줄러를 같이 쓰게 되므로 전용 스레드를 둔다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("scheduling-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+        registrar.setTaskScheduler(scheduler);
+    }
+}
@@ -0,0 +1,35 @@
+package hjpark.janggibe.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * 가상 스레드 모드 (Java 21 이상에서 spring.threads.virtual.enabled=true).
+ * <p>
+ * 요청은 Spring Boot가 Tomcat을 가상 스레드로 돌려 처리하고, 여기서는 /api/** 요청이 동시에 DB를 쓰는 수를
+ * Hikari 풀 크기만큼으로 묶는다. 기본(플랫폼 스레드) 모드에서는 등록되지 않는다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig implements WebMvcConfigurer {
+
+    private final DbConcurrencyInterceptor dbConcurrencyInterceptor;
+
+    public VirtualThreadConfig(@Value("${janggi.db-concurrency.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+                               @Value("${janggi.db-concurrency.acquire-timeout:5s}") Duration acquireTimeout) {
+        this.dbConcurrencyInterceptor = new DbConcurrencyInterceptor(permits, acquireTimeout);
+        log.info("가상 스레드 모드: DB 동시 요청 제한 permits={}, acquireTimeout={}", permits, acquireTimeout);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(dbConcurrencyInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -1,15 +1,23 @@
 package hjpark.janggibe.controller;
 
 import hjpark.janggibe.model.Game;
+import hjpark.janggibe.model.GameSummary;
+import hjpark.janggibe.model.MatchResult;
 import hjpark.janggibe.model.Move;
+import hjpark.janggibe.service.AiPlayerService;
+import hjpark.janggibe.service.GameCommandExecutor;
 import hjpark.janggibe.service.GameService;
+import hjpark.janggibe.service.MatchmakingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/game")
@@ -18,6 +26,9 @@ import java.util.Map;
 public class GameController {
     
     private final GameService gameService;
+    private final GameCommandExecutor gameCommandExecutor;
+    private final AiPlayerService aiPlayerService;
+    private final MatchmakingService matchmakingService;
     
     @PostMapping("/create")
     public ResponseEntity<Game> createGame(@RequestBody Map<String, String> request) {
@@ -27,10 +38,33 @@ public class GameController {
         return ResponseEntity.ok(game);
     }
     
+    @PostMapping("/match")
+    public ResponseEntity<MatchResult> match(@RequestBody Map<String, Object> request) {
+        String playerName = (String) request.get("playerName");
+        Integer rating = (Integer) request.get("rating"); // 없으면 레이팅 무관 대기열
+        MatchResult result = matchmakingService.enqueue(playerName, rating);
+        return ResponseEntity.ok(result);
+    }
+    
+    @PostMapping("/match/cancel")
+    public ResponseEntity<String> cancelMatch(@RequestBody Map<String, String> request) {
+        String playerName = request.get("playerName");
+        if (!matchmakingService.cancel(playerName)) {
+            return ResponseEntity.ok("대기열에 없습니다.");
+        }
+        return ResponseEntity.ok("매칭을 취소했습니다.");
+    }
+    
     @PostMapping("/{gameId}/join")
     public ResponseEntity<Game> joinGame(@PathVariable Long gameId, @RequestBody Map<String, String> request) {
         String playerName = request.get("playerName");
-        Game game = gameService.joinGame(gameId, playerName);
+        Game game = gameCommandExecutor.execute(gameId, () -> gameService.joinGame(gameId, playerName));
+        return ResponseEntity.ok(game);
+    }
+    
+    @PostMapping("/{gameId}/ai")
+    public ResponseEntity<Game> addAiOpponent(@PathVariable Long gameId) {
+        Game game = aiPlayerService.addOpponent(gameId);
         return ResponseEntity.ok(game);
     }
     
@@ -45,29 +79,48 @@ public class GameController {
         int toRow = (Integer) moveRequest.get("toRow");
         int toCol = (Integer) moveRequest.get("toCol");
         
-        Game game = gameService.makeMove(gameId, playerName, fromRow, fromCol, toRow, toCol);
+        Game game = gameCommandExecutor.execute(gameId,
+                () -> gameService.makeMove(gameId, playerName, fromRow, fromCol, toRow, toCol));
         return ResponseEntity.ok(game);
     }
     
     @GetMapping("/{gameId}")
-    public ResponseEntity<Game> getGame(@PathVariable Long gameId) {
-        Game game = gameService.getGame(gameId);
-        return ResponseEntity.ok(game);
+    public ResponseEntity<Game> getGame(@PathVariable Long gameId, WebRequest webRequest) {
+        Game game = gameCommandExecutor.execute(gameId, () -> gameService.getGame(gameId));
+        if (game.getClock() != null) {
+            // 시계가 도는 동안은 수가 없어도 남은 시간이 바뀌므로 ETag 없이 매번 본문을 보냄
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(game);
+        }
+        // 국면 키 + 수 + 플레이어/상태가 같으면 응답이 같으므로 304로 본문 생략
+        String eTag = "\"" + game.getPositionKey() + "-" + game.getMoveCount() + "-" + Integer.toHexString(
+                Objects.hash(game.getGameStatus(), game.getCheckStatus(), game.getRedPlayerName(), game.getBluePlayerName(),
+                        game.getWinnerName())) + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(game);
     }
     
     @GetMapping("/waiting")
-    public ResponseEntity<List<Game>> getWaitingGames() {
-        List<Game> games = gameService.getWaitingGames();
+    public ResponseEntity<List<GameSummary>> getWaitingGames() {
+        List<GameSummary> games = gameService.getWaitingGames();
         return ResponseEntity.ok(games);
     }
     
     @GetMapping("/active/{playerName}")
-    public ResponseEntity<Game> getActiveGame(@PathVariable String playerName) {
+    public ResponseEntity<GameSummary> getActiveGame(@PathVariable String playerName) {
         return gameService.getActiveGameByPlayerName(playerName)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    @GetMapping("/{gameId}/valid-moves")
+    public ResponseEntity<Map<String, List<int[]>>> getValidMoves(@PathVariable Long gameId) {
+        // 이동 도중의 보드를 읽지 않도록 레인에서 사본을 뜸
+        Map<String, List<int[]>> validMoves = gameCommandExecutor.execute(gameId, () -> gameService.getValidMoves(gameId));
+        return ResponseEntity.ok(validMoves);
+    }
+    
     @GetMapping("/{gameId}/history")
     public ResponseEntity<List<Move>> getGameHistory(@PathVariable Long gameId) {
         List<Move> moves = gameService.getGameHistory(gameId);
@@ -77,7 +130,7 @@ public class GameController {
     @PostMapping("/{gameId}/leave")
     public ResponseEntity<String> leaveGame(@PathVariable Long gameId, @RequestBody Map<String, String> request) {
         String playerName = request.get("playerName");
-        gameService.leaveGame(gameId, playerName);
+        gameCommandExecutor.execute(gameId, () -> gameService.leaveGame(gameId, playerName));
         return ResponseEntity.ok("게임에서 나갔습니다.");
     }
     
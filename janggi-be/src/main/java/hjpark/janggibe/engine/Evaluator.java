@@ -0,0 +1,66 @@
+package hjpark.janggibe.engine;
+
+/**
+ * 기물 점수 + 위치 점수 평가 함수. 단위는 졸 하나 = 200 정도의 센티폰 비슷한 값이다.
+ * <p>
+ * 말 코드/칸별 점수표를 미리 만들어 두고(한은 +, 초는 -) 보드를 한 번 훑어 더한다.
+ */
+public final class Evaluator {
+
+    /** 말 종류별 기물 점수 (인덱스 = {@link PieceCodes} 종류). 왕은 잡히면 대국이 끝나므로 탐색에서 따로 다룬다. */
+    public static final int[] MATERIAL = {0, 0, 300, 300, 500, 1300, 700, 200};
+
+    private static final int[][] TABLE = new int[PieceCodes.CODE_COUNT][Position.SQUARES];
+
+    static {
+        for (int type = PieceCodes.KING; type <= PieceCodes.SOLDIER; type++) {
+            for (int sq = 0; sq < Position.SQUARES; sq++) {
+                int row = Position.row(sq);
+                int col = Position.col(sq);
+                // 한(RED)은 0행에서 9행 쪽으로, 초(BLUE)는 반대로 전진한다
+                TABLE[type | PieceCodes.RED][sq] = MATERIAL[type] + positional(type, row, col);
+                TABLE[type | PieceCodes.BLUE][sq] = -(MATERIAL[type] + positional(type, Position.ROWS - 1 - row, col));
+            }
+        }
+    }
+
+    private Evaluator() {
+    }
+
+    /**
+     * color 입장에서 본 점수 (클수록 color에 유리)
+     */
+    public static int evaluate(Position position, int color) {
+        int score = 0;
+        for (int sq = 0; sq < Position.SQUARES; sq++) {
+            score += TABLE[position.get(sq)][sq];
+        }
+        return color == PieceCodes.RED ? score : -score;
+    }
+
+    /**
+     * 한 쪽 기준 위치 점수. advance는 자기 진영 끝에서부터 센 행(0~9)이다.
+     */
+    private static int positional(int type, int advance, int col) {
+        int center = 4 - Math.abs(col - 4);
+        switch (type) {
+            case PieceCodes.SOLDIER:
+                if (advance >= 5) {
+                    // 강을 건넌 졸은 중앙으로 갈수록, 궁성에 가까울수록 위협적 (마지막 줄은 움직임이 줄어듦)
+                    int bonus = 30 + (advance - 5) * 15 + center * 5;
+                    return advance == Position.ROWS - 1 ? bonus / 2 : bonus;
+                }
+                return advance == 4 ? 10 : 0;
+            case PieceCodes.HORSE:
+                return center * 6 + (advance >= 2 && advance <= 6 ? 10 : 0) - (col == 0 || col == 8 ? 10 : 0);
+            case PieceCodes.CANNON:
+                return center * 3 + (advance <= 2 ? 10 : 0);
+            case PieceCodes.CHARIOT:
+                return center * 3 + (advance >= 5 ? 15 : 0);
+            case PieceCodes.ELEPHANT:
+                return center * 2;
+            default:
+                return 0;
+        }
+    }
+}
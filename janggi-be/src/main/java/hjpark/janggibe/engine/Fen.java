@@ -0,0 +1,105 @@
+package hjpark.janggibe.engine;
+
+/**
+ * 테스트/도구용 FEN 형식 국면 표기.
+ * <p>
+ * 0행(한나라 쪽)부터 9행까지를 '/'로 구분하고, 빈 칸은 숫자(1~9)로 적는다.
+ * 대문자는 한(RED), 소문자는 초(BLUE)이며 K=왕, A=사, E=상, H=마, R=차, C=포, P=졸/병이다.
+ * 마지막에 공백과 함께 둘 차례(r 또는 b)를 적는다.
+ */
+public final class Fen {
+
+    public static final String INITIAL = "RHEA1AEHR/4K4/1C5C1/P1P1P1P1P/9/9/p1p1p1p1p/1c5c1/4k4/rhea1aehr r";
+
+    private static final String LETTERS = ".KAEHRCP";
+
+    private Fen() {
+    }
+
+    /**
+     * fen을 읽어 position에 채우고 둘 차례({@link PieceCodes#RED} 또는 {@link PieceCodes#BLUE})를 돌려준다.
+     */
+    public static int parse(String fen, Position position) {
+        String[] parts = fen.trim().split("\\s+");
+        String[] ranks = parts[0].split("/");
+        if (ranks.length != Position.ROWS) {
+            throw new IllegalArgumentException("행 개수가 올바르지 않습니다: " + fen);
+        }
+
+        position.clear();
+        for (int row = 0; row < Position.ROWS; row++) {
+            int col = 0;
+            for (char ch : ranks[row].toCharArray()) {
+                if (Character.isDigit(ch)) {
+                    col += ch - '0';
+                    continue;
+                }
+                int code = code(ch);
+                if (code == PieceCodes.EMPTY || col >= Position.COLS) {
+                    throw new IllegalArgumentException("잘못된 FEN 문자 '" + ch + "': " + fen);
+                }
+                position.put(Position.square(row, col), code);
+                col++;
+            }
+            if (col != Position.COLS) {
+                throw new IllegalArgumentException(row + "행의 칸 수가 올바르지 않습니다: " + fen);
+            }
+        }
+
+        int sideToMove = parts.length > 1 && parts[1].equalsIgnoreCase("b") ? PieceCodes.BLUE : PieceCodes.RED;
+        position.setSideToMove(sideToMove);
+        return sideToMove;
+    }
+
+    /**
+     * 말 코드를 FEN 글자로 바꾼다. (한 = 대문자, 초 = 소문자)
+     */
+    public static char letter(int code) {
+        char letter = LETTERS.charAt(PieceCodes.type(code));
+        return PieceCodes.colorOf(code) == PieceCodes.RED ? letter : Character.toLowerCase(letter);
+    }
+
+    /**
+     * FEN 글자를 말 코드로 바꾼다. 모르는 글자면 {@link PieceCodes#EMPTY}
+     */
+    public static int code(char ch) {
+        int type = LETTERS.indexOf(Character.toUpperCase(ch));
+        if (type <= 0) {
+            return PieceCodes.EMPTY;
+        }
+        return type | (Character.isUpperCase(ch) ? PieceCodes.RED : PieceCodes.BLUE);
+    }
+
+    public static String format(Position position, int sideToMove) {
+        return formatBoard(position) + ' ' + (sideToMove == PieceCodes.RED ? 'r' : 'b');
+    }
+
+    /**
+     * 둘 차례 없이 말 배치 부분만 적는다.
+     */
+    public static String formatBoard(Position position) {
+        StringBuilder sb = new StringBuilder(Position.SQUARES);
+        for (int row = 0; row < Position.ROWS; row++) {
+            if (row > 0) {
+                sb.append('/');
+            }
+            int empty = 0;
+            for (int col = 0; col < Position.COLS; col++) {
+                int code = position.get(row, col);
+                if (code == PieceCodes.EMPTY) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    sb.append(empty);
+                    empty = 0;
+                }
+                sb.append(letter(code));
+            }
+            if (empty > 0) {
+                sb.append(empty);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,590 @@
+package hjpark.janggibe.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 미리 계산한 테이블 기반의 유사 합법(pseudo-legal) 수 생성기.
+ * <p>
+ * 수는 {@code from | (to << 7)} 형태의 int로 표현하고, 호출자가 넘긴 int[] 버퍼에 채운다.
+ * 마/상의 멱(막힘) 칸, 궁성 인접 칸, 졸/병 이동 칸은 칸마다 미리 계산해 두고,
+ * 차/포는 방향별 직선(ray)을 따라 걷는다.
+ * <p>
+ * 궁성 대각선(귀 - 중앙 - 귀)은 따로 분기하지 않고 표에 들어가 있다. 궁성 점에서는 대각선도 직선 하나로 만들어 두어
+ * 차/포가 같은 방식으로 걷고, 왕/사/졸의 이동 칸에도 궁성 선을 따라가는 대각선만 넣는다.
+ */
+public final class MoveGenerator {
+
+    /** 한 국면에서 나올 수 있는 수의 상한 */
+    public static final int MAX_MOVES = 256;
+
+    private static final int SQUARES = Position.SQUARES;
+    private static final int[][] ORTHOGONAL = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int[][] DIAGONAL = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
+    // [colorIndex][square] -> 목적지 칸들
+    private static final int[][][] KING_STEPS = new int[2][SQUARES][];
+    private static final int[][][] GUARD_STEPS = new int[2][SQUARES][];
+    private static final int[][][] SOLDIER_STEPS = new int[2][SQUARES][];
+    private static final int[][][] ELEPHANT_TARGETS = new int[2][SQUARES][];
+    private static final int[][][] ELEPHANT_BLOCKS = new int[2][SQUARES][];
+
+    // [square] -> 목적지 / 멱 칸 (같은 인덱스끼리 짝)
+    private static final int[][] HORSE_TARGETS = new int[SQUARES][];
+    private static final int[][] HORSE_BLOCKS = new int[SQUARES][];
+
+    // [square][direction] -> 가까운 칸부터 순서대로. 0~3은 상하좌우(비어 있을 수 있음), 그 뒤는 궁성 대각선
+    private static final int[][][] RAYS = new int[SQUARES][][];
+    // [from][to] -> to가 놓인 RAYS[from]의 방향, 없으면 -1
+    private static final byte[][] RAY_INDEX = new byte[SQUARES][SQUARES];
+
+    // 공격 역표: [colorIndex][square] -> 그 칸을 칠 수 있는 왕/사/상/마/졸의 출발 칸, 말 종류, 멱 칸(없으면 -1)
+    private static final int[][][] LEAPER_FROM = new int[2][SQUARES][];
+    private static final int[][][] LEAPER_TYPE = new int[2][SQUARES][];
+    private static final int[][][] LEAPER_BLOCK = new int[2][SQUARES][];
+
+    // [attackerColorIndex][kingSquare] -> 말이 떠나거나 새로 서면 그 칸의 공격 여부가 바뀔 수 있는 칸 (직선 위 + 멱 칸)
+    private static final long[][] EXPOSURE_LO = new long[2][SQUARES];
+    private static final long[][] EXPOSURE_HI = new long[2][SQUARES];
+
+    static {
+        for (int sq = 0; sq < SQUARES; sq++) {
+            int row = Position.row(sq);
+            int col = Position.col(sq);
+
+            for (int colorIndex = 0; colorIndex < 2; colorIndex++) {
+                int color = colorIndex == 0 ? PieceCodes.RED : PieceCodes.BLUE;
+                KING_STEPS[colorIndex][sq] = palaceSteps(row, col, color);
+                GUARD_STEPS[colorIndex][sq] = palaceSteps(row, col, color);
+                SOLDIER_STEPS[colorIndex][sq] = soldierSteps(row, col, color);
+                buildElephant(colorIndex, sq, row, col, color);
+            }
+
+            buildHorse(sq, row, col);
+
+            buildRays(sq, row, col);
+        }
+        buildLeaperAttacks();
+        buildExposure();
+    }
+
+    private MoveGenerator() {
+    }
+
+    public static int encode(int from, int to) {
+        return from | (to << 7);
+    }
+
+    public static int from(int move) {
+        return move & 0x7F;
+    }
+
+    public static int to(int move) {
+        return (move >>> 7) & 0x7F;
+    }
+
+    /**
+     * color 쪽의 모든 유사 합법 수를 moves에 채우고 개수를 돌려준다.
+     */
+    public static int generate(Position position, int color, int[] moves) {
+        int count = 0;
+        for (int type = PieceCodes.KING; type <= PieceCodes.SOLDIER; type++) {
+            int code = type | color;
+            long lo = position.occupancyLo(code);
+            while (lo != 0) {
+                int sq = Long.numberOfTrailingZeros(lo);
+                lo &= lo - 1;
+                count = generateFrom(position, sq, code, moves, count);
+            }
+            long hi = position.occupancyHi(code);
+            while (hi != 0) {
+                int sq = Long.numberOfTrailingZeros(hi) + 64;
+                hi &= hi - 1;
+                count = generateFrom(position, sq, code, moves, count);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 한 칸에 있는 말의 유사 합법 수를 moves에 채우고 개수를 돌려준다.
+     */
+    public static int generateFrom(Position position, int from, int[] moves) {
+        int code = position.get(from);
+        if (code == PieceCodes.EMPTY) {
+            return 0;
+        }
+        return generateFrom(position, from, code, moves, 0);
+    }
+
+    private static int generateFrom(Position position, int from, int code, int[] moves, int count) {
+        int color = PieceCodes.colorOf(code);
+        int colorIndex = color >> 3;
+        switch (PieceCodes.type(code)) {
+            case PieceCodes.KING:
+                return addSteps(position, from, color, KING_STEPS[colorIndex][from], moves, count);
+            case PieceCodes.GUARD:
+                return addSteps(position, from, color, GUARD_STEPS[colorIndex][from], moves, count);
+            case PieceCodes.SOLDIER:
+                return addSteps(position, from, color, SOLDIER_STEPS[colorIndex][from], moves, count);
+            case PieceCodes.ELEPHANT:
+                return addBlockedSteps(position, from, color,
+                        ELEPHANT_TARGETS[colorIndex][from], ELEPHANT_BLOCKS[colorIndex][from], moves, count);
+            case PieceCodes.HORSE:
+                return addBlockedSteps(position, from, color, HORSE_TARGETS[from], HORSE_BLOCKS[from], moves, count);
+            case PieceCodes.CHARIOT:
+                return addChariotMoves(position, from, color, moves, count);
+            case PieceCodes.CANNON:
+                return addCannonMoves(position, from, color, moves, count);
+            default:
+                return count;
+        }
+    }
+
+    /**
+     * from -> to가 유사 합법 수인지 확인한다. 수 목록을 만들지 않는다.
+     */
+    public static boolean isPseudoLegal(Position position, int from, int to, int color) {
+        int code = position.get(from);
+        if (code == PieceCodes.EMPTY || PieceCodes.colorOf(code) != color) {
+            return false;
+        }
+        int target = position.get(to);
+        if (target != PieceCodes.EMPTY && PieceCodes.colorOf(target) == color) {
+            return false; // 같은 색 말을 잡을 수 없음
+        }
+
+        int colorIndex = color >> 3;
+        switch (PieceCodes.type(code)) {
+            case PieceCodes.KING:
+                return contains(KING_STEPS[colorIndex][from], to);
+            case PieceCodes.GUARD:
+                return contains(GUARD_STEPS[colorIndex][from], to);
+            case PieceCodes.SOLDIER:
+                return contains(SOLDIER_STEPS[colorIndex][from], to);
+            case PieceCodes.ELEPHANT:
+                return isUnblocked(position, ELEPHANT_TARGETS[colorIndex][from], ELEPHANT_BLOCKS[colorIndex][from], to);
+            case PieceCodes.HORSE:
+                return isUnblocked(position, HORSE_TARGETS[from], HORSE_BLOCKS[from], to);
+            case PieceCodes.CHARIOT:
+                return isChariotReachable(position, from, to);
+            case PieceCodes.CANNON:
+                return isCannonReachable(position, from, to);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * byColor 쪽 말 중 하나라도 square에 놓인 상대 말을 잡을 수 있는지(square를 공격하는지) 확인한다.
+     * <p>
+     * 상대 말을 모두 훑지 않고 square에서 거꾸로 본다. 직선 네 방향에서 처음 만난 말이 차인지, 두 번째 말이 포인지 보고,
+     * 나머지 말은 미리 만든 역표의 후보 칸만 확인한다.
+     */
+    public static boolean isAttacked(Position position, int square, int byColor) {
+        int chariot = PieceCodes.CHARIOT | byColor;
+        int cannon = PieceCodes.CANNON | byColor;
+        for (int[] ray : RAYS[square]) {
+            boolean screened = false;
+            for (int sq : ray) {
+                int code = position.get(sq);
+                if (code == PieceCodes.EMPTY) {
+                    continue;
+                }
+                if (!screened) {
+                    if (code == chariot) {
+                        return true;
+                    }
+                    screened = true;
+                } else {
+                    if (code == cannon) {
+                        return true;
+                    }
+                    break;
+                }
+            }
+        }
+
+        int colorIndex = byColor >> 3;
+        int[] from = LEAPER_FROM[colorIndex][square];
+        int[] type = LEAPER_TYPE[colorIndex][square];
+        int[] block = LEAPER_BLOCK[colorIndex][square];
+        for (int i = 0; i < from.length; i++) {
+            if (position.get(from[i]) == (type[i] | byColor) && (block[i] < 0 || position.isEmpty(block[i]))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * sq에서 말이 떠나거나 sq에 말이 새로 서면 byColor 쪽의 kingSquare 공격 여부가 바뀔 수 있는지 확인한다.
+     * 아니라면 그 수는 make/unmake 없이도 왕을 노출시키지 않는다.
+     */
+    static boolean mayExpose(int kingSquare, int sq, int byColor) {
+        int colorIndex = byColor >> 3;
+        return sq < 64
+                ? (EXPOSURE_LO[colorIndex][kingSquare] & (1L << sq)) != 0
+                : (EXPOSURE_HI[colorIndex][kingSquare] & (1L << (sq - 64))) != 0;
+    }
+
+    /**
+     * 두 왕이 같은 세로줄에서 사이에 아무 말 없이 마주 보는지(빅장) 확인한다.
+     */
+    public static boolean kingsFacing(Position position) {
+        int red = position.kingSquare(PieceCodes.RED);
+        int blue = position.kingSquare(PieceCodes.BLUE);
+        if (red < 0 || blue < 0 || Position.col(red) != Position.col(blue)) {
+            return false;
+        }
+        // 한 왕은 위쪽(0행 쪽), 초 왕은 아래쪽에 있으므로 한 왕에서 아래로 처음 만나는 말을 본다
+        int[] ray = RAYS[red][Position.row(blue) > Position.row(red) ? 1 : 0];
+        for (int sq : ray) {
+            if (!position.isEmpty(sq)) {
+                return sq == blue;
+            }
+        }
+        return false;
+    }
+
+    private static int addSteps(Position position, int from, int color, int[] targets, int[] moves, int count) {
+        for (int to : targets) {
+            if (isEmptyOrEnemy(position, to, color)) {
+                moves[count++] = encode(from, to);
+            }
+        }
+        return count;
+    }
+
+    private static int addBlockedSteps(Position position, int from, int color, int[] targets, int[] blocks,
+                                       int[] moves, int count) {
+        for (int i = 0; i < targets.length; i++) {
+            if (position.isEmpty(blocks[i]) && isEmptyOrEnemy(position, targets[i], color)) {
+                moves[count++] = encode(from, targets[i]);
+            }
+        }
+        return count;
+    }
+
+    private static int addChariotMoves(Position position, int from, int color, int[] moves, int count) {
+        for (int[] ray : RAYS[from]) {
+            for (int to : ray) {
+                int target = position.get(to);
+                if (target == PieceCodes.EMPTY) {
+                    moves[count++] = encode(from, to);
+                    continue;
+                }
+                if (PieceCodes.colorOf(target) != color) {
+                    moves[count++] = encode(from, to);
+                }
+                break;
+            }
+        }
+        return count;
+    }
+
+    private static int addCannonMoves(Position position, int from, int color, int[] moves, int count) {
+        for (int[] ray : RAYS[from]) {
+            boolean jumped = false;
+            for (int to : ray) {
+                int target = position.get(to);
+                if (!jumped) {
+                    // 넘을 말을 만나기 전까지는 빈 칸으로 이동 가능
+                    if (target == PieceCodes.EMPTY) {
+                        moves[count++] = encode(from, to);
+                    } else {
+                        jumped = true;
+                    }
+                } else if (target != PieceCodes.EMPTY) {
+                    // 하나를 넘은 뒤 처음 만난 말만 잡을 수 있음
+                    if (PieceCodes.colorOf(target) != color) {
+                        moves[count++] = encode(from, to);
+                    }
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static boolean isChariotReachable(Position position, int from, int to) {
+        int[] ray = rayTowards(from, to);
+        if (ray == null) {
+            return false;
+        }
+        for (int sq : ray) {
+            if (sq == to) {
+                return true;
+            }
+            if (!position.isEmpty(sq)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCannonReachable(Position position, int from, int to) {
+        int[] ray = rayTowards(from, to);
+        if (ray == null) {
+            return false;
+        }
+        boolean targetEmpty = position.isEmpty(to);
+        int jumps = 0;
+        for (int sq : ray) {
+            if (sq == to) {
+                // 빈 칸이면 경로가 비어 있어야 하고, 말이 있으면 정확히 하나를 넘어야 함
+                return targetEmpty ? jumps == 0 : jumps == 1;
+            }
+            if (!position.isEmpty(sq) && ++jumps > 1) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static int[] rayTowards(int from, int to) {
+        int d = RAY_INDEX[from][to];
+        return d < 0 ? null : RAYS[from][d];
+    }
+
+    private static boolean isUnblocked(Position position, int[] targets, int[] blocks, int to) {
+        for (int i = 0; i < targets.length; i++) {
+            if (targets[i] == to) {
+                return position.isEmpty(blocks[i]);
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(int[] targets, int to) {
+        for (int target : targets) {
+            if (target == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEmptyOrEnemy(Position position, int sq, int color) {
+        int target = position.get(sq);
+        return target == PieceCodes.EMPTY || PieceCodes.colorOf(target) != color;
+    }
+
+    // ---- 테이블 생성 ----
+
+    private static boolean isInPalace(int row, int col, int color) {
+        if (color == PieceCodes.RED) {
+            // 한나라 궁성 (0-2행, 3-5열)
+            return row >= 0 && row <= 2 && col >= 3 && col <= 5;
+        } else {
+            // 초나라 궁성 (7-9행, 3-5열)
+            return row >= 7 && row <= 9 && col >= 3 && col <= 5;
+        }
+    }
+
+    /**
+     * 두 칸이 궁성 대각선으로 바로 이어져 있는지. (같은 궁성 안에서 한쪽이 중앙인 대각선 한 칸)
+     */
+    private static boolean isPalaceDiagonal(int row, int col, int toRow, int toCol) {
+        if (Math.abs(toRow - row) != 1 || Math.abs(toCol - col) != 1) {
+            return false;
+        }
+        for (int color : new int[]{PieceCodes.RED, PieceCodes.BLUE}) {
+            if (isInPalace(row, col, color) && isInPalace(toRow, toCol, color)) {
+                int center = color == PieceCodes.RED ? 1 : 8;
+                return (row == center && col == 4) || (toRow == center && toCol == 4);
+            }
+        }
+        return false;
+    }
+
+    private static int[] palaceSteps(int row, int col, int color) {
+        // 궁성 안에서 상하좌우 한 칸, 또는 궁성 선을 따라 대각선 한 칸
+        int[] buffer = new int[8];
+        int count = 0;
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                if (dr == 0 && dc == 0) {
+                    continue;
+                }
+                int r = row + dr;
+                int c = col + dc;
+                boolean diagonal = dr != 0 && dc != 0;
+                if (isInPalace(r, c, color) && (!diagonal || isPalaceDiagonal(row, col, r, c))) {
+                    buffer[count++] = Position.square(r, c);
+                }
+            }
+        }
+        return Arrays.copyOf(buffer, count);
+    }
+
+    private static int[] soldierSteps(int row, int col, int color) {
+        int forward = color == PieceCodes.RED ? 1 : -1;
+        // 강을 건넌 후에는 좌우로도 이동 가능
+        boolean crossedRiver = (color == PieceCodes.RED && row > 4) || (color == PieceCodes.BLUE && row < 5);
+        int[] buffer = new int[5];
+        int count = 0;
+        if (crossedRiver) {
+            if (Position.isValidPosition(row + forward, col)) {
+                buffer[count++] = Position.square(row + forward, col);
+            }
+            // 대각선 앞은 궁성 선 위에서만
+            for (int dc = -1; dc <= 1; dc += 2) {
+                if (isPalaceDiagonal(row, col, row + forward, col + dc)) {
+                    buffer[count++] = Position.square(row + forward, col + dc);
+                }
+            }
+            if (Position.isValidPosition(row, col - 1)) {
+                buffer[count++] = Position.square(row, col - 1);
+            }
+            if (Position.isValidPosition(row, col + 1)) {
+                buffer[count++] = Position.square(row, col + 1);
+            }
+        } else if (Position.isValidPosition(row + forward, col)) {
+            buffer[count++] = Position.square(row + forward, col);
+        }
+        return Arrays.copyOf(buffer, count);
+    }
+
+    private static void buildElephant(int colorIndex, int sq, int row, int col, int color) {
+        int[] targets = new int[4];
+        int[] blocks = new int[4];
+        int count = 0;
+        for (int dr = -2; dr <= 2; dr += 4) {
+            for (int dc = -2; dc <= 2; dc += 4) {
+                int r = row + dr;
+                int c = col + dc;
+                // 상은 강을 건너갈 수 없음
+                boolean ownSide = color == PieceCodes.RED ? r <= 4 : r >= 5;
+                if (Position.isValidPosition(r, c) && ownSide) {
+                    targets[count] = Position.square(r, c);
+                    blocks[count] = Position.square(row + dr / 2, col + dc / 2);
+                    count++;
+                }
+            }
+        }
+        ELEPHANT_TARGETS[colorIndex][sq] = Arrays.copyOf(targets, count);
+        ELEPHANT_BLOCKS[colorIndex][sq] = Arrays.copyOf(blocks, count);
+    }
+
+    private static void buildHorse(int sq, int row, int col) {
+        int[][] jumps = {{-2, -1}, {-2, 1}, {2, -1}, {2, 1}, {-1, -2}, {1, -2}, {-1, 2}, {1, 2}};
+        int[] targets = new int[8];
+        int[] blocks = new int[8];
+        int count = 0;
+        for (int[] jump : jumps) {
+            int r = row + jump[0];
+            int c = col + jump[1];
+            if (!Position.isValidPosition(r, c)) {
+                continue;
+            }
+            // 두 칸 가는 방향의 첫 칸이 멱
+            int blockRow = Math.abs(jump[0]) == 2 ? row + jump[0] / 2 : row;
+            int blockCol = Math.abs(jump[1]) == 2 ? col + jump[1] / 2 : col;
+            targets[count] = Position.square(r, c);
+            blocks[count] = Position.square(blockRow, blockCol);
+            count++;
+        }
+        HORSE_TARGETS[sq] = Arrays.copyOf(targets, count);
+        HORSE_BLOCKS[sq] = Arrays.copyOf(blocks, count);
+    }
+
+    private static void buildLeaperAttacks() {
+        for (int colorIndex = 0; colorIndex < 2; colorIndex++) {
+            int[][] from = new int[SQUARES][48];
+            int[][] type = new int[SQUARES][48];
+            int[][] block = new int[SQUARES][48];
+            int[] count = new int[SQUARES];
+            for (int sq = 0; sq < SQUARES; sq++) {
+                addReverse(from, type, block, count, sq, PieceCodes.KING, KING_STEPS[colorIndex][sq], null);
+                addReverse(from, type, block, count, sq, PieceCodes.GUARD, GUARD_STEPS[colorIndex][sq], null);
+                addReverse(from, type, block, count, sq, PieceCodes.SOLDIER, SOLDIER_STEPS[colorIndex][sq], null);
+                addReverse(from, type, block, count, sq, PieceCodes.ELEPHANT,
+                        ELEPHANT_TARGETS[colorIndex][sq], ELEPHANT_BLOCKS[colorIndex][sq]);
+                addReverse(from, type, block, count, sq, PieceCodes.HORSE, HORSE_TARGETS[sq], HORSE_BLOCKS[sq]);
+            }
+            for (int sq = 0; sq < SQUARES; sq++) {
+                LEAPER_FROM[colorIndex][sq] = Arrays.copyOf(from[sq], count[sq]);
+                LEAPER_TYPE[colorIndex][sq] = Arrays.copyOf(type[sq], count[sq]);
+                LEAPER_BLOCK[colorIndex][sq] = Arrays.copyOf(block[sq], count[sq]);
+            }
+        }
+    }
+
+    private static void buildExposure() {
+        for (int colorIndex = 0; colorIndex < 2; colorIndex++) {
+            for (int target = 0; target < SQUARES; target++) {
+                long lo = 0;
+                long hi = 0;
+                List<Integer> squares = new ArrayList<>();
+                for (int[] ray : RAYS[target]) {
+                    for (int sq : ray) {
+                        squares.add(sq);
+                    }
+                }
+                for (int block : LEAPER_BLOCK[colorIndex][target]) {
+                    if (block >= 0) {
+                        squares.add(block);
+                    }
+                }
+                for (int sq : squares) {
+                    if (sq < 64) {
+                        lo |= 1L << sq;
+                    } else {
+                        hi |= 1L << (sq - 64);
+                    }
+                }
+                EXPOSURE_LO[colorIndex][target] = lo;
+                EXPOSURE_HI[colorIndex][target] = hi;
+            }
+        }
+    }
+
+    private static void addReverse(int[][] from, int[][] type, int[][] block, int[] count,
+                                   int sq, int pieceType, int[] targets, int[] blocks) {
+        for (int i = 0; i < targets.length; i++) {
+            int target = targets[i];
+            int n = count[target]++;
+            from[target][n] = sq;
+            type[target][n] = pieceType;
+            block[target][n] = blocks == null ? -1 : blocks[i];
+        }
+    }
+
+    private static void buildRays(int sq, int row, int col) {
+        int[][] rays = new int[ORTHOGONAL.length + DIAGONAL.length][];
+        int count = 0;
+        for (int[] step : ORTHOGONAL) {
+            rays[count++] = ray(row, col, step[0], step[1], false);
+        }
+        for (int[] step : DIAGONAL) {
+            int[] diagonal = ray(row, col, step[0], step[1], true);
+            if (diagonal.length > 0) {
+                rays[count++] = diagonal;
+            }
+        }
+        RAYS[sq] = Arrays.copyOf(rays, count);
+
+        Arrays.fill(RAY_INDEX[sq], (byte) -1);
+        for (int d = 0; d < count; d++) {
+            for (int to : RAYS[sq][d]) {
+                RAY_INDEX[sq][to] = (byte) d;
+            }
+        }
+    }
+
+    private static int[] ray(int row, int col, int rowStep, int colStep, boolean palaceDiagonal) {
+        int[] buffer = new int[Math.max(Position.ROWS, Position.COLS)];
+        int count = 0;
+        int r = row;
+        int c = col;
+        while (Position.isValidPosition(r + rowStep, c + colStep)
+                && (!palaceDiagonal || isPalaceDiagonal(r, c, r + rowStep, c + colStep))) {
+            r += rowStep;
+            c += colStep;
+            buffer[count++] = Position.square(r, c);
+        }
+        return Arrays.copyOf(buffer, count);
+    }
+}
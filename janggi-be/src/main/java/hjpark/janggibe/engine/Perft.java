@@ -0,0 +1,106 @@
+package hjpark.janggibe.engine;
+
+/**
+ * 수 생성기 정확도/속도 측정용 perft(깊이 N까지의 수순 개수 세기).
+ * <p>
+ * 합법 수({@link Rules#generateLegal})만 센다. make/unmake만 사용하므로 탐색 중 할당이 없다.
+ * 합법 수만 따라가면 왕을 잡는 수는 나오지 않지만, 임의 FEN에서 시작한 경우를 위해 잎 노드로 세고 더 들어가지 않는다.
+ * <pre>
+ * java -cp target/classes hjpark.janggibe.engine.Perft 4
+ * java -cp target/classes hjpark.janggibe.engine.Perft 3 "RHEA1AEHR/4K4/1C5C1/P1P1P1P1P/9/9/p1p1p1p1p/1c5c1/4k4/rhea1aehr r"
+ * </pre>
+ */
+public final class Perft {
+
+    private static final int MAX_DEPTH = 32;
+
+    private final int[][] moveBuffers = new int[MAX_DEPTH][MoveGenerator.MAX_MOVES];
+
+    public long perft(Position position, int sideToMove, int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("최대 깊이는 " + MAX_DEPTH + "입니다.");
+        }
+        return search(position, sideToMove, depth, 0);
+    }
+
+    public Result run(Position position, int sideToMove, int depth) {
+        long start = System.nanoTime();
+        long nodes = perft(position, sideToMove, depth);
+        return new Result(depth, nodes, System.nanoTime() - start);
+    }
+
+    private long search(Position position, int color, int depth, int ply) {
+        if (depth == 0) {
+            return 1;
+        }
+
+        int[] moves = moveBuffers[ply];
+        int count = Rules.generateLegal(position, color, moves);
+        if (depth == 1) {
+            return count;
+        }
+
+        long nodes = 0;
+        int opponent = PieceCodes.opponent(color);
+        for (int i = 0; i < count; i++) {
+            int from = MoveGenerator.from(moves[i]);
+            int to = MoveGenerator.to(moves[i]);
+            int captured = position.makeMove(from, to);
+            if (PieceCodes.type(captured) == PieceCodes.KING) {
+                nodes++;
+            } else {
+                nodes += search(position, opponent, depth - 1, ply + 1);
+            }
+            position.unmakeMove(from, to, captured);
+        }
+        return nodes;
+    }
+
+    public static final class Result {
+        private final int depth;
+        private final long nodes;
+        private final long nanos;
+
+        Result(int depth, long nodes, long nanos) {
+            this.depth = depth;
+            this.nodes = nodes;
+            this.nanos = nanos;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public long getNodes() {
+            return nodes;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getNodesPerSecond() {
+            return nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("depth %d: %,d nodes in %.3f s (%,d nodes/s)",
+                    depth, nodes, nanos / 1_000_000_000.0, getNodesPerSecond());
+        }
+    }
+
+    public static void main(String[] args) {
+        int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        String fen = args.length > 1 ? args[1] : Fen.INITIAL;
+
+        Position position = new Position();
+        int sideToMove = Fen.parse(fen, position);
+        Perft perft = new Perft();
+
+        System.out.println(Fen.format(position, sideToMove));
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            System.out.println(perft.run(position, sideToMove, depth));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package hjpark.janggibe.engine;
+
+import hjpark.janggibe.model.Piece;
+
+/**
+ * 말을 한 칸당 4비트 코드로 표현하기 위한 상수/변환 모음.
+ * <p>
+ * 하위 3비트는 말 종류({@link Piece.PieceType} ordinal + 1), 4번째 비트는 색(0 = RED, 8 = BLUE)이다.
+ * 0은 빈 칸이므로 유효한 코드는 1~7(한), 9~15(초)이다.
+ */
+public final class PieceCodes {
+
+    public static final int EMPTY = 0;
+
+    public static final int RED = 0;
+    public static final int BLUE = 8;
+    public static final int COLOR_MASK = 8;
+    public static final int TYPE_MASK = 7;
+
+    public static final int KING = 1;
+    public static final int GUARD = 2;
+    public static final int ELEPHANT = 3;
+    public static final int HORSE = 4;
+    public static final int CHARIOT = 5;
+    public static final int CANNON = 6;
+    public static final int SOLDIER = 7;
+
+    /** 코드 공간 크기 (색 비트 포함) */
+    public static final int CODE_COUNT = 16;
+
+    private static final Piece.PieceType[] TYPES = Piece.PieceType.values();
+
+    private PieceCodes() {
+    }
+
+    public static int of(Piece.PieceType type, Piece.PieceColor color) {
+        return (type.ordinal() + 1) | color(color);
+    }
+
+    public static int color(Piece.PieceColor color) {
+        return color == Piece.PieceColor.RED ? RED : BLUE;
+    }
+
+    public static int type(int code) {
+        return code & TYPE_MASK;
+    }
+
+    public static int colorOf(int code) {
+        return code & COLOR_MASK;
+    }
+
+    public static int opponent(int color) {
+        return color ^ COLOR_MASK;
+    }
+
+    public static Piece.PieceType toType(int code) {
+        return TYPES[(code & TYPE_MASK) - 1];
+    }
+
+    public static Piece.PieceColor toColor(int code) {
+        return (code & COLOR_MASK) == RED ? Piece.PieceColor.RED : Piece.PieceColor.BLUE;
+    }
+
+    public static Piece.PieceColor toPieceColor(int color) {
+        return color == RED ? Piece.PieceColor.RED : Piece.PieceColor.BLUE;
+    }
+
+    public static Piece toPiece(int code, int row, int col) {
+        return Piece.builder()
+                .type(toType(code))
+                .color(toColor(code))
+                .row(row)
+                .col(col)
+                .build();
+    }
+}
@@ -0,0 +1,209 @@
+package hjpark.janggibe.engine;
+
+import java.util.Arrays;
+
+/**
+ * 규칙 엔진 내부에서 사용하는 원시 타입 기반 보드.
+ * <p>
+ * 90칸 메일박스({@code byte[90]}, 칸 번호 = row * 9 + col)와 말 코드별 점유 비트마스크(90비트를 long 두 개로 표현)를
+ * 함께 유지한다. 복사와 make/unmake는 객체를 새로 만들지 않는다.
+ * <p>
+ * 둘 차례와 {@link Zobrist} 키도 함께 들고 있다. 수를 두면 차례가 넘어가고 키는 증분으로 갱신된다.
+ * 양쪽 왕의 칸도 증분으로 유지해서 장군 확인이 보드를 훑지 않는다.
+ */
+public final class Position {
+
+    public static final int ROWS = 10;
+    public static final int COLS = 9;
+    public static final int SQUARES = ROWS * COLS;
+
+    private final byte[] squares = new byte[SQUARES];
+    private final long[] occupancyLo = new long[PieceCodes.CODE_COUNT];
+    private final long[] occupancyHi = new long[PieceCodes.CODE_COUNT];
+    private final int[] kingSquares = {-1, -1}; // [colorIndex], 왕이 없으면 -1
+    private int sideToMove = PieceCodes.RED;
+    private long key;
+
+    public static int square(int row, int col) {
+        return row * COLS + col;
+    }
+
+    public static int row(int square) {
+        return square / COLS;
+    }
+
+    public static int col(int square) {
+        return square % COLS;
+    }
+
+    public static boolean isValidPosition(int row, int col) {
+        return row >= 0 && row < ROWS && col >= 0 && col < COLS;
+    }
+
+    public int get(int square) {
+        return squares[square];
+    }
+
+    public int get(int row, int col) {
+        return squares[square(row, col)];
+    }
+
+    public boolean isEmpty(int square) {
+        return squares[square] == PieceCodes.EMPTY;
+    }
+
+    /**
+     * 칸의 말을 교체한다. 기존 말이 있으면 덮어쓴다.
+     */
+    public void put(int square, int code) {
+        int old = squares[square];
+        if (old != PieceCodes.EMPTY) {
+            clearBit(old, square);
+            if (PieceCodes.type(old) == PieceCodes.KING && kingSquares[old >> 3] == square) {
+                kingSquares[old >> 3] = -1;
+            }
+        }
+        squares[square] = (byte) code;
+        if (code != PieceCodes.EMPTY) {
+            setBit(code, square);
+            if (PieceCodes.type(code) == PieceCodes.KING) {
+                kingSquares[code >> 3] = square;
+            }
+        }
+        key ^= Zobrist.piece(old, square) ^ Zobrist.piece(code, square);
+    }
+
+    public void remove(int square) {
+        put(square, PieceCodes.EMPTY);
+    }
+
+    /**
+     * from의 말을 to로 옮기고 잡힌 말 코드를 돌려준다. (없으면 {@link PieceCodes#EMPTY}) 둘 차례도 넘어간다.
+     * 돌려받은 값을 {@link #unmakeMove(int, int, int)}에 넘기면 원래 상태로 되돌릴 수 있다.
+     */
+    public int makeMove(int from, int to) {
+        int moving = squares[from];
+        int captured = squares[to];
+        if (captured != PieceCodes.EMPTY) {
+            clearBit(captured, to);
+            if (PieceCodes.type(captured) == PieceCodes.KING) {
+                kingSquares[captured >> 3] = -1;
+            }
+        }
+        if (PieceCodes.type(moving) == PieceCodes.KING) {
+            kingSquares[moving >> 3] = to;
+        }
+        clearBit(moving, from);
+        setBit(moving, to);
+        squares[to] = (byte) moving;
+        squares[from] = PieceCodes.EMPTY;
+        key ^= Zobrist.piece(moving, from) ^ Zobrist.piece(moving, to) ^ Zobrist.piece(captured, to) ^ Zobrist.SIDE;
+        sideToMove ^= PieceCodes.COLOR_MASK;
+        return captured;
+    }
+
+    public void unmakeMove(int from, int to, int captured) {
+        int moving = squares[to];
+        clearBit(moving, to);
+        setBit(moving, from);
+        squares[from] = (byte) moving;
+        squares[to] = (byte) captured;
+        if (captured != PieceCodes.EMPTY) {
+            setBit(captured, to);
+            if (PieceCodes.type(captured) == PieceCodes.KING) {
+                kingSquares[captured >> 3] = to;
+            }
+        }
+        if (PieceCodes.type(moving) == PieceCodes.KING) {
+            kingSquares[moving >> 3] = from;
+        }
+        key ^= Zobrist.piece(moving, from) ^ Zobrist.piece(moving, to) ^ Zobrist.piece(captured, to) ^ Zobrist.SIDE;
+        sideToMove ^= PieceCodes.COLOR_MASK;
+    }
+
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    public void setSideToMove(int color) {
+        key ^= Zobrist.side(sideToMove) ^ Zobrist.side(color);
+        sideToMove = color;
+    }
+
+    /**
+     * color 쪽 왕이 있는 칸. 왕이 잡혔으면 -1
+     */
+    public int kingSquare(int color) {
+        return kingSquares[color >> 3];
+    }
+
+    /**
+     * 현재 국면(말 배치 + 둘 차례)의 Zobrist 키
+     */
+    public long key() {
+        return key;
+    }
+
+    /**
+     * 해당 코드의 말이 보드 위에 하나라도 있는지 확인한다.
+     */
+    public boolean contains(int code) {
+        return (occupancyLo[code] | occupancyHi[code]) != 0;
+    }
+
+    public int count(int code) {
+        return Long.bitCount(occupancyLo[code]) + Long.bitCount(occupancyHi[code]);
+    }
+
+    public long occupancyLo(int code) {
+        return occupancyLo[code];
+    }
+
+    public long occupancyHi(int code) {
+        return occupancyHi[code];
+    }
+
+    public void clear() {
+        Arrays.fill(squares, (byte) PieceCodes.EMPTY);
+        Arrays.fill(occupancyLo, 0L);
+        Arrays.fill(occupancyHi, 0L);
+        Arrays.fill(kingSquares, -1);
+        sideToMove = PieceCodes.RED;
+        key = 0L;
+    }
+
+    /**
+     * 다른 보드의 상태를 이 인스턴스로 복사한다. (할당 없음)
+     */
+    public void copyFrom(Position other) {
+        System.arraycopy(other.squares, 0, squares, 0, SQUARES);
+        System.arraycopy(other.occupancyLo, 0, occupancyLo, 0, PieceCodes.CODE_COUNT);
+        System.arraycopy(other.occupancyHi, 0, occupancyHi, 0, PieceCodes.CODE_COUNT);
+        kingSquares[0] = other.kingSquares[0];
+        kingSquares[1] = other.kingSquares[1];
+        sideToMove = other.sideToMove;
+        key = other.key;
+    }
+
+    public Position copy() {
+        Position position = new Position();
+        position.copyFrom(this);
+        return position;
+    }
+
+    private void setBit(int code, int square) {
+        if (square < 64) {
+            occupancyLo[code] |= 1L << square;
+        } else {
+            occupancyHi[code] |= 1L << (square - 64);
+        }
+    }
+
+    private void clearBit(int code, int square) {
+        if (square < 64) {
+            occupancyLo[code] &= ~(1L << square);
+        } else {
+            occupancyHi[code] &= ~(1L << (square - 64));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package hjpark.janggibe.engine;
+
+/**
+ * 합법 수 판정과 장군/외통/빅장 판정.
+ * <p>
+ * 왕의 칸은 {@link Position}이 증분으로 들고 있고, 공격 여부는 {@link MoveGenerator#isAttacked}로 왕 칸에서 거꾸로 본다.
+ * 합법 수는 자기 왕을 공격받게 두지 않는 유사 합법 수다. 보드를 복사하지 않고 제자리에서 make/unmake 하며
+ * (잡힌 말 코드가 되돌리기 기록), 장군이 아니고 왕과 직선/멱으로 얽히지 않은 칸끼리의 수는 그마저 건너뛴다.
+ */
+public final class Rules {
+
+    /** 특별한 상태 없음 */
+    public static final int NORMAL = 0;
+    /** 둘 차례인 쪽 왕이 공격받고 있음 (장군) */
+    public static final int CHECK = 1;
+    /** 장군이고 피할 수가 없음 (외통) */
+    public static final int CHECKMATE = 2;
+    /** 장군은 아니지만 둘 수 있는 수가 없음 */
+    public static final int STALEMATE = 3;
+    /** 두 왕이 마주 봄 (빅장) */
+    public static final int BIKJANG = 4;
+
+    private Rules() {
+    }
+
+    public static boolean isInCheck(Position position, int color) {
+        int king = position.kingSquare(color);
+        return king >= 0 && MoveGenerator.isAttacked(position, king, PieceCodes.opponent(color));
+    }
+
+    /**
+     * from -> to가 규칙에 맞고 자기 왕을 공격받게 두지 않는 수인지 확인한다.
+     */
+    public static boolean isLegal(Position position, int from, int to, int color) {
+        return MoveGenerator.isPseudoLegal(position, from, to, color)
+                && isSafe(position, from, to, color, isInCheck(position, color));
+    }
+
+    /**
+     * color 쪽 합법 수를 moves에 채우고 개수를 돌려준다.
+     */
+    public static int generateLegal(Position position, int color, int[] moves) {
+        return filter(position, color, moves, MoveGenerator.generate(position, color, moves));
+    }
+
+    /**
+     * 한 칸에 있는 말의 합법 수를 moves에 채우고 개수를 돌려준다.
+     */
+    public static int generateLegalFrom(Position position, int from, int[] moves) {
+        int code = position.get(from);
+        if (code == PieceCodes.EMPTY) {
+            return 0;
+        }
+        return filter(position, PieceCodes.colorOf(code), moves, MoveGenerator.generateFrom(position, from, moves));
+    }
+
+    /**
+     * 유사 합법 수 from -> to를 두었을 때 자기 왕이 공격받지 않는지 확인한다. 보드는 원래대로 돌려놓는다.
+     */
+    public static boolean leavesKingSafe(Position position, int from, int to, int color) {
+        int captured = position.makeMove(from, to);
+        boolean safe = !isInCheck(position, color);
+        position.unmakeMove(from, to, captured);
+        return safe;
+    }
+
+    /**
+     * color 쪽에 합법 수가 하나라도 있는지 확인한다. moves는 작업용 버퍼다.
+     */
+    public static boolean hasLegalMove(Position position, int color, int[] moves) {
+        int count = MoveGenerator.generate(position, color, moves);
+        boolean inCheck = isInCheck(position, color);
+        for (int i = 0; i < count; i++) {
+            if (isSafe(position, MoveGenerator.from(moves[i]), MoveGenerator.to(moves[i]), color, inCheck)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 둘 차례인 color 쪽에서 본 국면 상태({@link #NORMAL}, {@link #CHECK}, {@link #CHECKMATE}, {@link #STALEMATE},
+     * {@link #BIKJANG})를 돌려준다. 장군이 빅장보다 우선한다.
+     */
+    public static int status(Position position, int color, int[] moves) {
+        boolean inCheck = isInCheck(position, color);
+        boolean canMove = hasLegalMove(position, color, moves);
+        if (inCheck) {
+            return canMove ? CHECK : CHECKMATE;
+        }
+        if (MoveGenerator.kingsFacing(position)) {
+            return BIKJANG;
+        }
+        return canMove ? NORMAL : STALEMATE;
+    }
+
+    private static int filter(Position position, int color, int[] moves, int count) {
+        boolean inCheck = isInCheck(position, color);
+        int legal = 0;
+        for (int i = 0; i < count; i++) {
+            if (isSafe(position, MoveGenerator.from(moves[i]), MoveGenerator.to(moves[i]), color, inCheck)) {
+                moves[legal++] = moves[i];
+            }
+        }
+        return legal;
+    }
+
+    private static boolean isSafe(Position position, int from, int to, int color, boolean inCheck) {
+        int king = position.kingSquare(color);
+        if (king < 0) {
+            return true;
+        }
+        int enemy = PieceCodes.opponent(color);
+        if (!inCheck && from != king
+                && !MoveGenerator.mayExpose(king, from, enemy) && !MoveGenerator.mayExpose(king, to, enemy)) {
+            return true;
+        }
+        return leavesKingSafe(position, from, to, color);
+    }
+}
@@ -0,0 +1,392 @@
+package hjpark.janggibe.engine;
+
+import java.util.Arrays;
+
+/**
+ * 반복 심화 알파-베타 탐색.
+ * <p>
+ * 트랜스포지션 표, 수 정렬(표의 수 → 잡는 수(MVV-LVA) → 킬러 수 → 히스토리), 잡는 수만 보는 정지 탐색을 쓴다.
+ * 왕을 잡는 수는 대국이 끝나는 수이므로 그 자리에서 승리 점수를 돌려준다.
+ * 시간 예산이 지나면 진행 중인 깊이는 버리고 마지막으로 끝까지 본 깊이의 결과를 쓴다.
+ * <p>
+ * 인스턴스는 스레드 하나에서만 쓴다. (표와 버퍼를 재사용하므로 탐색 중 할당이 없다)
+ * <pre>
+ * java -cp target/classes hjpark.janggibe.engine.Search 3000
+ * java -cp target/classes hjpark.janggibe.engine.Search 3000 "RHEA1AEHR/4K4/1C5C1/P1P1P1P1P/9/9/p1p1p1p1p/1c5c1/4k4/rhea1aehr r"
+ * </pre>
+ */
+public final class Search {
+
+    public static final int MAX_PLY = 64;
+    public static final int MATE = 100_000;
+
+    private static final int INFINITY = 1_000_000;
+    private static final int MATE_BOUND = MATE - MAX_PLY;
+    private static final int TIME_CHECK_MASK = 2047;
+
+    private static final int TT_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 28;
+    private static final int KILLER_SCORE = 1 << 27;
+
+    /** MVV-LVA용 말 가치 (인덱스 = 종류). 왕이 가장 크다 */
+    private static final int[] VICTIM_VALUE = {0, 100, 3, 3, 5, 13, 7, 2};
+
+    private final TranspositionTable table;
+    private final Position position = new Position();
+    private final int[][] moves = new int[MAX_PLY + 1][MoveGenerator.MAX_MOVES];
+    private final int[][] orderScores = new int[MAX_PLY + 1][MoveGenerator.MAX_MOVES];
+    private final int[][] killers = new int[MAX_PLY + 1][2];
+    private final int[] history = new int[1 << 14];
+
+    private long nodes;
+    private long deadline;
+    private boolean stopped;
+    private int rootDepth;
+    private int rootBestMove;
+
+    public Search(int tableBits) {
+        this.table = new TranspositionTable(tableBits);
+    }
+
+    /**
+     * side가 둘 수를 찾는다. root는 바뀌지 않는다.
+     *
+     * @param timeMillis 시간 예산 (적어도 깊이 1은 끝까지 본다)
+     * @param maxDepth   최대 깊이
+     */
+    public Result search(Position root, int side, long timeMillis, int maxDepth) {
+        position.copyFrom(root);
+        position.setSideToMove(side);
+        for (int[] killer : killers) {
+            Arrays.fill(killer, 0);
+        }
+        Arrays.fill(history, 0);
+
+        long start = System.nanoTime();
+        deadline = start + timeMillis * 1_000_000L;
+        nodes = 0;
+        stopped = false;
+
+        int bestMove = 0;
+        int bestScore = 0;
+        int completedDepth = 0;
+        int depthLimit = Math.min(maxDepth, MAX_PLY);
+        for (rootDepth = 1; rootDepth <= depthLimit; rootDepth++) {
+            rootBestMove = 0;
+            int score = alphaBeta(side, rootDepth, -INFINITY, INFINITY, 0);
+            if (stopped) {
+                break;
+            }
+            bestMove = rootBestMove;
+            bestScore = score;
+            completedDepth = rootDepth;
+
+            // 승패가 정해졌거나, 남은 시간으로 다음 깊이를 끝낼 가능성이 낮으면 멈춤
+            if (Math.abs(score) >= MATE_BOUND || System.nanoTime() - start > (deadline - start) / 2) {
+                break;
+            }
+        }
+        return new Result(bestMove, bestScore, completedDepth, nodes, System.nanoTime() - start);
+    }
+
+    public void clear() {
+        table.clear();
+    }
+
+    private int alphaBeta(int side, int depth, int alpha, int beta, int ply) {
+        if (depth <= 0) {
+            return quiesce(side, alpha, beta, ply);
+        }
+        if ((++nodes & TIME_CHECK_MASK) == 0) {
+            checkTime();
+        }
+        if (stopped) {
+            return 0;
+        }
+        if (ply >= MAX_PLY) {
+            return Evaluator.evaluate(position, side);
+        }
+
+        long key = position.key();
+        long entry = table.probe(key);
+        int ttMove = 0;
+        if (TranspositionTable.isHit(entry)) {
+            ttMove = TranspositionTable.move(entry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int flag = TranspositionTable.flag(entry);
+                if (flag == TranspositionTable.EXACT
+                        || (flag == TranspositionTable.LOWER && score >= beta)
+                        || (flag == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        int[] list = moves[ply];
+        int[] scores = orderScores[ply];
+        // 루트에서는 실제로 둘 수만 고르고, 그 아래는 유사 합법 수로 보고 왕을 잡는 수를 외통 점수로 셈
+        int count = ply == 0 ? Rules.generateLegal(position, side, list) : MoveGenerator.generate(position, side, list);
+        if (count == 0) {
+            return 0;
+        }
+        scoreMoves(list, scores, count, ttMove, ply);
+
+        int opponent = PieceCodes.opponent(side);
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = 0;
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(list, scores, i, count);
+            int from = MoveGenerator.from(move);
+            int to = MoveGenerator.to(move);
+
+            int captured = position.makeMove(from, to);
+            int score = PieceCodes.type(captured) == PieceCodes.KING
+                    ? MATE - ply - 1
+                    : -alphaBeta(opponent, depth - 1, -beta, -alpha, ply + 1);
+            position.unmakeMove(from, to, captured);
+            if (stopped) {
+                return 0;
+            }
+
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (ply == 0) {
+                    rootBestMove = move;
+                }
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                if (captured == PieceCodes.EMPTY) {
+                    if (killers[ply][0] != move) {
+                        killers[ply][1] = killers[ply][0];
+                        killers[ply][0] = move;
+                    }
+                    history[move] += depth * depth;
+                }
+                break;
+            }
+        }
+
+        int flag = best >= beta ? TranspositionTable.LOWER
+                : best > originalAlpha ? TranspositionTable.EXACT
+                : TranspositionTable.UPPER;
+        table.store(key, depth, toTable(best, ply), flag, bestMove);
+        return best;
+    }
+
+    /**
+     * 잡는 수만 끝까지 따라가서 수평선 효과를 줄인다.
+     */
+    private int quiesce(int side, int alpha, int beta, int ply) {
+        if ((++nodes & TIME_CHECK_MASK) == 0) {
+            checkTime();
+        }
+        if (stopped) {
+            return 0;
+        }
+
+        int standPat = Evaluator.evaluate(position, side);
+        if (standPat >= beta || ply >= MAX_PLY) {
+            return standPat;
+        }
+        if (standPat > alpha) {
+            alpha = standPat;
+        }
+
+        int[] list = moves[ply];
+        int[] scores = orderScores[ply];
+        int all = MoveGenerator.generate(position, side, list);
+        int count = 0;
+        for (int i = 0; i < all; i++) {
+            int victim = position.get(MoveGenerator.to(list[i]));
+            if (victim != PieceCodes.EMPTY) {
+                list[count] = list[i];
+                scores[count] = mvvLva(victim, position.get(MoveGenerator.from(list[i])));
+                count++;
+            }
+        }
+
+        int opponent = PieceCodes.opponent(side);
+        int best = standPat;
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(list, scores, i, count);
+            int from = MoveGenerator.from(move);
+            int to = MoveGenerator.to(move);
+
+            int captured = position.makeMove(from, to);
+            int score = PieceCodes.type(captured) == PieceCodes.KING
+                    ? MATE - ply - 1
+                    : -quiesce(opponent, -beta, -alpha, ply + 1);
+            position.unmakeMove(from, to, captured);
+            if (stopped) {
+                return 0;
+            }
+
+            if (score > best) {
+                best = score;
+            }
+            if (score >= beta) {
+                return score;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+        }
+        return best;
+    }
+
+    private void scoreMoves(int[] list, int[] scores, int count, int ttMove, int ply) {
+        int killer0 = killers[ply][0];
+        int killer1 = killers[ply][1];
+        for (int i = 0; i < count; i++) {
+            int move = list[i];
+            int victim = position.get(MoveGenerator.to(move));
+            if (move == ttMove) {
+                scores[i] = TT_MOVE_SCORE;
+            } else if (victim != PieceCodes.EMPTY) {
+                scores[i] = CAPTURE_SCORE + mvvLva(victim, position.get(MoveGenerator.from(move)));
+            } else if (move == killer0) {
+                scores[i] = KILLER_SCORE + 1;
+            } else if (move == killer1) {
+                scores[i] = KILLER_SCORE;
+            } else {
+                scores[i] = Math.min(history[move], KILLER_SCORE - 1);
+            }
+        }
+    }
+
+    /**
+     * 남은 수 중 정렬 점수가 가장 높은 수를 index 자리로 가져온다. (컷이 나면 나머지는 정렬하지 않아도 됨)
+     */
+    private static int pickNext(int[] list, int[] scores, int index, int count) {
+        int bestIndex = index;
+        for (int i = index + 1; i < count; i++) {
+            if (scores[i] > scores[bestIndex]) {
+                bestIndex = i;
+            }
+        }
+        int move = list[bestIndex];
+        int score = scores[bestIndex];
+        list[bestIndex] = list[index];
+        scores[bestIndex] = scores[index];
+        list[index] = move;
+        scores[index] = score;
+        return move;
+    }
+
+    private static int mvvLva(int victim, int attacker) {
+        return VICTIM_VALUE[PieceCodes.type(victim)] * 16 - PieceCodes.type(attacker);
+    }
+
+    private void checkTime() {
+        // 깊이 1은 항상 끝까지 봐서 둘 수가 없는 경우를 막음
+        if (rootDepth > 1 && System.nanoTime() >= deadline) {
+            stopped = true;
+        }
+    }
+
+    /** 표에는 "이 국면에서 몇 수 뒤 승리"로 저장해서 다른 경로로 와도 맞는 값이 되게 한다 */
+    private static int toTable(int score, int ply) {
+        if (score >= MATE_BOUND) {
+            return score + ply;
+        }
+        if (score <= -MATE_BOUND) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE_BOUND) {
+            return score - ply;
+        }
+        if (score <= -MATE_BOUND) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    public static final class Result {
+        private final int move;
+        private final int score;
+        private final int depth;
+        private final long nodes;
+        private final long nanos;
+
+        Result(int move, int score, int depth, long nodes, long nanos) {
+            this.move = move;
+            this.score = score;
+            this.depth = depth;
+            this.nodes = nodes;
+            this.nanos = nanos;
+        }
+
+        public boolean hasMove() {
+            return move != 0;
+        }
+
+        public int getMove() {
+            return move;
+        }
+
+        public int getFromRow() {
+            return Position.row(MoveGenerator.from(move));
+        }
+
+        public int getFromCol() {
+            return Position.col(MoveGenerator.from(move));
+        }
+
+        public int getToRow() {
+            return Position.row(MoveGenerator.to(move));
+        }
+
+        public int getToCol() {
+            return Position.col(MoveGenerator.to(move));
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public long getNodes() {
+            return nodes;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getNodesPerSecond() {
+            return nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("move (%d,%d)->(%d,%d) score %d depth %d: %,d nodes in %.3f s (%,d nodes/s)",
+                    getFromRow(), getFromCol(), getToRow(), getToCol(), score, depth, nodes,
+                    nanos / 1_000_000_000.0, getNodesPerSecond());
+        }
+    }
+
+    public static void main(String[] args) {
+        long timeMillis = args.length > 0 ? Long.parseLong(args[0]) : 3000;
+        String fen = args.length > 1 ? args[1] : Fen.INITIAL;
+
+        Position position = new Position();
+        int sideToMove = Fen.parse(fen, position);
+        Search search = new Search(20);
+
+        System.out.println(Fen.format(position, sideToMove));
+        System.out.println(search.search(position, sideToMove, timeMillis, MAX_PLY));
+    }
+}
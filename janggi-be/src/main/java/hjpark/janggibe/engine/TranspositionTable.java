@@ -0,0 +1,77 @@
+package hjpark.janggibe.engine;
+
+import java.util.Arrays;
+
+/**
+ * Zobrist 키로 찾는 탐색 결과 표. 항목은 키(long)와 묶은 값(long) 한 쌍이다.
+ * <pre>
+ * 값 = [유효 1비트][플래그 2비트][깊이 7비트][수 14비트][점수 32비트]
+ * </pre>
+ * 같은 칸에서 충돌하면 더 깊게 탐색한 결과를 남기되, 다른 국면이면 항상 새 결과로 바꾼다.
+ */
+public final class TranspositionTable {
+
+    public static final int EXACT = 0;
+    public static final int LOWER = 1; // 점수 >= 값 (beta 컷)
+    public static final int UPPER = 2; // 점수 <= 값 (alpha 미달)
+
+    private static final long VALID = 1L << 62;
+
+    private final long[] keys;
+    private final long[] values;
+    private final int mask;
+
+    public TranspositionTable(int bits) {
+        int size = 1 << bits;
+        this.keys = new long[size];
+        this.values = new long[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * 키에 해당하는 값을 돌려준다. 없으면 0.
+     */
+    public long probe(long key) {
+        int index = (int) key & mask;
+        return keys[index] == key ? values[index] : 0L;
+    }
+
+    public void store(long key, int depth, int score, int flag, int move) {
+        int index = (int) key & mask;
+        long old = values[index];
+        if (keys[index] == key && old != 0L && depth(old) > depth && flag != EXACT) {
+            return;
+        }
+        keys[index] = key;
+        values[index] = VALID
+                | ((long) flag << 60)
+                | ((long) depth << 53)
+                | ((long) (move & 0x3FFF) << 32)
+                | (score & 0xFFFFFFFFL);
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(values, 0L);
+    }
+
+    public static boolean isHit(long value) {
+        return value != 0L;
+    }
+
+    public static int score(long value) {
+        return (int) value;
+    }
+
+    public static int move(long value) {
+        return (int) (value >>> 32) & 0x3FFF;
+    }
+
+    public static int depth(long value) {
+        return (int) (value >>> 53) & 0x7F;
+    }
+
+    public static int flag(long value) {
+        return (int) (value >>> 60) & 0x3;
+    }
+}
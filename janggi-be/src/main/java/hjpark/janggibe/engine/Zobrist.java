@@ -0,0 +1,52 @@
+package hjpark.janggibe.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * 국면을 64비트 키로 나타내기 위한 Zobrist 난수표.
+ * <p>
+ * 키 = (칸마다 놓인 말 코드의 난수) XOR (초 차례면 {@link #SIDE}). 고정 시드를 쓰므로 프로세스가 달라도 같은 국면은 같은 키다.
+ * {@link Position}이 말을 놓고 옮길 때마다 키를 증분으로 갱신한다.
+ */
+public final class Zobrist {
+
+    private static final long SEED = 0x4A414E474749L; // "JANGGI"
+
+    private static final long[][] PIECE_SQUARE = new long[PieceCodes.CODE_COUNT][Position.SQUARES];
+
+    /** 초(BLUE)가 둘 차례일 때 섞는 값 */
+    public static final long SIDE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int code = 0; code < PieceCodes.CODE_COUNT; code++) {
+            for (int sq = 0; sq < Position.SQUARES; sq++) {
+                // 빈 칸(0)과 쓰지 않는 코드(8)는 0으로 두어 XOR해도 키가 변하지 않게 함
+                PIECE_SQUARE[code][sq] = PieceCodes.type(code) == PieceCodes.EMPTY ? 0L : random.nextLong();
+            }
+        }
+        SIDE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    public static long piece(int code, int square) {
+        return PIECE_SQUARE[code][square];
+    }
+
+    public static long side(int color) {
+        return color == PieceCodes.BLUE ? SIDE : 0L;
+    }
+
+    /**
+     * 증분 갱신 없이 처음부터 계산한 키. (검증/테스트용)
+     */
+    public static long compute(Position position) {
+        long key = side(position.getSideToMove());
+        for (int sq = 0; sq < Position.SQUARES; sq++) {
+            key ^= PIECE_SQUARE[position.get(sq)][sq];
+        }
+        return key;
+    }
+}
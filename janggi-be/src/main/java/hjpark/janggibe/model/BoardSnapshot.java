@@ -0,0 +1,41 @@
+package hjpark.janggibe.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * moveNumber번째 수까지 둔 뒤의 보드. 보드는 이 스냅샷 + 이후 moves 행을 순서대로 재생해서 복원한다.
+ */
+@Entity
+@Table(name = "board_snapshots",
+       uniqueConstraints = @UniqueConstraint(name = "uk_board_snapshots_game_move", columnNames = {"game_id", "move_number"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "game_id", nullable = false)
+    private Long gameId;
+    
+    @Column(name = "move_number", nullable = false)
+    private int moveNumber;
+    
+    @Column(name = "board", nullable = false, length = 128)
+    private byte[] board; // BoardSnapshotCodec 형식
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -8,9 +8,15 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "games")
+@Table(name = "games",
+       indexes = {
+           @Index(name = "idx_games_status_created", columnList = "game_status, created_at"),
+           @Index(name = "idx_games_red_player", columnList = "red_player_name, game_status, updated_at"),
+           @Index(name = "idx_games_blue_player", columnList = "blue_player_name, game_status, updated_at"),
+           @Index(name = "idx_games_status_updated", columnList = "game_status, updated_at")
+       })
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Game {
@@ -44,11 +50,23 @@ public class Game {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @Column(name = "move_count", nullable = false)
+    @Builder.Default
+    private int moveCount = 0; // 지금까지 둔 수. 다음 수의 moveNumber는 moveCount + 1
+    
+    @Basic(fetch = FetchType.LAZY) // 바이트코드 향상(hibernate-enhance-maven-plugin)으로 실제로 접근할 때만 읽음
     @Column(name = "board_state", columnDefinition = "TEXT")
-    private String boardState; // JSON 형태로 보드 상태 저장
+    private String boardState; // JSON 형태의 보드. 진행 중 변경은 moves/board_snapshots에 쌓이고 이 컬럼은 다시 쓰지 않음
+    
+    @Transient
+    private String positionKey; // 현재 국면의 Zobrist 키(16진수). 저장하지 않고 응답/ETag에만 씀
+    
+    @Transient
+    @Builder.Default
+    private CheckStatus checkStatus = CheckStatus.NONE; // 둘 차례인 쪽에서 본 장군/빅장 상태. 보드에서 다시 계산함
     
-    @Column(name = "move_history", columnDefinition = "TEXT")
-    private String moveHistory; // JSON 형태로 이동 기록 저장
+    @Transient
+    private GameClockView clock; // 진행 중일 때 응답 시점의 대국 시계 (GameClockService)
     
     @PrePersist
     protected void onCreate() {
@@ -65,6 +83,15 @@ public class Game {
         WAITING,    // 대기 중
         IN_PROGRESS, // 진행 중
         FINISHED,   // 종료
-        ABANDONED   // 포기
+        ABANDONED   // 포기 (오래 움직임이 없어 GameReaper가 정리한 게임 포함)
+    }
+    
+    // 순서는 engine.Rules의 상태 상수와 같다
+    public enum CheckStatus {
+        NONE,       // 없음
+        CHECK,      // 장군
+        CHECKMATE,  // 외통
+        STALEMATE,  // 둘 수 있는 수 없음
+        BIKJANG     // 빅장
     }
 }
@@ -1,5 +1,8 @@
 package hjpark.janggibe.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import hjpark.janggibe.engine.PieceCodes;
+import hjpark.janggibe.engine.Position;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,122 +11,180 @@ import jakarta.annotation.PostConstruct;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * REST/JSON 용 보드 뷰.
+ * <p>
+ * 실제 상태는 {@link Position}(byte 메일박스)에 저장되고, {@code board}(Piece[][])는 직렬화/조회 시에만 만들어진다.
+ * JSON 형태는 기존과 동일하다.
+ */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class GameBoard {
-    public static final int BOARD_ROWS = 10;
-    public static final int BOARD_COLS = 9;
-    
+    public static final int BOARD_ROWS = Position.ROWS;
+    public static final int BOARD_COLS = Position.COLS;
+
+    @JsonIgnore
     @Builder.Default
-    private Piece[][] board = new Piece[BOARD_ROWS][BOARD_COLS];
-    
+    private Position position = new Position();
+
     @Builder.Default
     private List<Piece> capturedPieces = new ArrayList<>();
-    
+
     @PostConstruct
     public void initializeBoard() {
         // 초기 보드 설정
-        board = new Piece[BOARD_ROWS][BOARD_COLS];
-        
+        position.clear();
+
         // 한나라 (상단) 말 배치
         // 차, 마, 상, 사, 왕, 사, 상, 마, 차
-        board[0][0] = Piece.builder().type(Piece.PieceType.CHARIOT).color(Piece.PieceColor.RED).row(0).col(0).build();
-        board[0][1] = Piece.builder().type(Piece.PieceType.HORSE).color(Piece.PieceColor.RED).row(0).col(1).build();
-        board[0][2] = Piece.builder().type(Piece.PieceType.ELEPHANT).color(Piece.PieceColor.RED).row(0).col(2).build();
-        board[0][3] = Piece.builder().type(Piece.PieceType.GUARD).color(Piece.PieceColor.RED).row(0).col(3).build();
-        board[0][5] = Piece.builder().type(Piece.PieceType.GUARD).color(Piece.PieceColor.RED).row(0).col(5).build();
-        board[0][6] = Piece.builder().type(Piece.PieceType.ELEPHANT).color(Piece.PieceColor.RED).row(0).col(6).build();
-        board[0][7] = Piece.builder().type(Piece.PieceType.HORSE).color(Piece.PieceColor.RED).row(0).col(7).build();
-        board[0][8] = Piece.builder().type(Piece.PieceType.CHARIOT).color(Piece.PieceColor.RED).row(0).col(8).build();
-        
+        place(0, 0, Piece.PieceType.CHARIOT, Piece.PieceColor.RED);
+        place(0, 1, Piece.PieceType.HORSE, Piece.PieceColor.RED);
+        place(0, 2, Piece.PieceType.ELEPHANT, Piece.PieceColor.RED);
+        place(0, 3, Piece.PieceType.GUARD, Piece.PieceColor.RED);
+        place(0, 5, Piece.PieceType.GUARD, Piece.PieceColor.RED);
+        place(0, 6, Piece.PieceType.ELEPHANT, Piece.PieceColor.RED);
+        place(0, 7, Piece.PieceType.HORSE, Piece.PieceColor.RED);
+        place(0, 8, Piece.PieceType.CHARIOT, Piece.PieceColor.RED);
+
         // 왕은 사보다 한 칸 앞에 배치
-        board[1][4] = Piece.builder().type(Piece.PieceType.KING).color(Piece.PieceColor.RED).row(1).col(4).build();
-        
+        place(1, 4, Piece.PieceType.KING, Piece.PieceColor.RED);
+
         // 포 배치
-        board[2][1] = Piece.builder().type(Piece.PieceType.CANNON).color(Piece.PieceColor.RED).row(2).col(1).build();
-        board[2][7] = Piece.builder().type(Piece.PieceType.CANNON).color(Piece.PieceColor.RED).row(2).col(7).build();
-        
+        place(2, 1, Piece.PieceType.CANNON, Piece.PieceColor.RED);
+        place(2, 7, Piece.PieceType.CANNON, Piece.PieceColor.RED);
+
         // 졸 배치
-        board[3][0] = Piece.builder().type(Piece.PieceType.SOLDIER).color(Piece.PieceColor.RED).row(3).col(0).build();
-        board[3][2] = Piece.builder().type(Piece.PieceType.SOLDIER).color(Piece.PieceColor.RED).row(3).col(2).build();
-        board[3][4] = Piece.builder().type(Piece.PieceType.SOLDIER).color(Piece.PieceColor.RED).row(3).col(4).build();
-        board[3][6] = Piece.builder().type(Piece.PieceType.SOLDIER).color(Piece.PieceColor.RED).row(3).col(6).build();
-        board[3][8] = Piece.builder().type(Piece.PieceType.SOLDIER).color(Piece.PieceColor.RED).row(3).col(8).build();
-        
+        for (int col = 0; col < BOARD_COLS; col += 2) {
+            place(3, col, Piece.PieceType.SOLDIER, Piece.PieceColor.RED);
+        }
+
         // 초나라 (하단) 말 배치
         // 차, 마, 상, 사, 왕, 사, 상, 마, 차
-        board[9][0] = Piece.builder().type(Piece.PieceType.CHARIOT).color(Piece.PieceColor.BLUE).row(9).col(0).build();
-        board[9][1] = Piece.builder().type(Piece.PieceType.HORSE).color(Piece.PieceColor.BLUE).row(9).col(1).build();
-        board[9][2] = Piece.builder().type(Piece.PieceType.ELEPHANT).color(Piece.PieceColor.BLUE).row(9).col(2).build();
-        board[9][3] = Piece.builder().type(Piece.PieceType.GUARD).color(Piece.PieceColor.BLUE).row(9).col(3).build();
-        board[9][5] = Piece.builder().type(Piece.PieceType.GUARD).color(Piece.PieceColor.BLUE).row(9).col(5).build();
-        board[9][6] = Piece.builder().type(Piece.PieceType.ELEPHANT).color(Piece.PieceColor.BLUE).row(9).col(6).build();
-        board[9][7] = Piece.builder().type(Piece.PieceType.HORSE).color(Piece.PieceColor.BLUE).row(9).col(7).build();
-        board[9][8] = Piece.builder().type(Piece.PieceType.CHARIOT).color(Piece.PieceColor.BLUE).row(9).col(8).build();
-        
+        place(9, 0, Piece.PieceType.CHARIOT, Piece.PieceColor.BLUE);
+        place(9, 1, Piece.PieceType.HORSE, Piece.PieceColor.BLUE);
+        place(9, 2, Piece.PieceType.ELEPHANT, Piece.PieceColor.BLUE);
+        place(9, 3, Piece.PieceType.GUARD, Piece.PieceColor.BLUE);
+        place(9, 5, Piece.PieceType.GUARD, Piece.PieceColor.BLUE);
+        place(9, 6, Piece.PieceType.ELEPHANT, Piece.PieceColor.BLUE);
+        place(9, 7, Piece.PieceType.HORSE, Piece.PieceColor.BLUE);
+        place(9, 8, Piece.PieceType.CHARIOT, Piece.PieceColor.BLUE);
+
         // 왕은 사보다 한 칸 앞에 배치
-        board[8][4] = Piece.builder().type(Piece.PieceType.KING).color(Piece.PieceColor.BLUE).row(8).col(4).build();
-        
+        place(8, 4, Piece.PieceType.KING, Piece.PieceColor.BLUE);
+
         // 포 배치
-        board[7][1] = Piece.builder().type(Piece.PieceType.CANNON).color(Piece.PieceColor.BLUE).row(7).col(1).build();
-        board[7][7] = Piece.builder().type(Piece.PieceType.CANNON).color(Piece.PieceColor.BLUE).row(7).col(7).build();
-        
+        place(7, 1, Piece.PieceType.CANNON, Piece.PieceColor.BLUE);
+        place(7, 7, Piece.PieceType.CANNON, Piece.PieceColor.BLUE);
+
         // 병 배치
-        board[6][0] = Piece.builder().type(Piece.PieceType.SOLDIER).color(Piece.PieceColor.BLUE).row(6).col(0).build();
-        board[6][2] = Piece.builder().type(Piece.PieceType.SOLDIER).color(Piece.PieceColor.BLUE).row(6).col(2).build();
-        board[6][4] = Piece.builder().type(Piece.PieceType.SOLDIER).color(Piece.PieceColor.BLUE).row(6).col(4).build();
-        board[6][6] = Piece.builder().type(Piece.PieceType.SOLDIER).color(Piece.PieceColor.BLUE).row(6).col(6).build();
-        board[6][8] = Piece.builder().type(Piece.PieceType.SOLDIER).color(Piece.PieceColor.BLUE).row(6).col(8).build();
+        for (int col = 0; col < BOARD_COLS; col += 2) {
+            place(6, col, Piece.PieceType.SOLDIER, Piece.PieceColor.BLUE);
+        }
+    }
+
+    private void place(int row, int col, Piece.PieceType type, Piece.PieceColor color) {
+        position.put(Position.square(row, col), PieceCodes.of(type, color));
+    }
+
+    /**
+     * JSON 직렬화용 Piece[][] 뷰. 호출할 때마다 새로 만든다.
+     */
+    public Piece[][] getBoard() {
+        Piece[][] board = new Piece[BOARD_ROWS][BOARD_COLS];
+        for (int i = 0; i < BOARD_ROWS; i++) {
+            for (int j = 0; j < BOARD_COLS; j++) {
+                board[i][j] = getPiece(i, j);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * JSON 역직렬화용. Piece[][]를 내부 메일박스로 옮긴다.
+     */
+    public void setBoard(Piece[][] board) {
+        position.clear();
+        if (board == null) {
+            return;
+        }
+        for (int i = 0; i < board.length && i < BOARD_ROWS; i++) {
+            for (int j = 0; j < board[i].length && j < BOARD_COLS; j++) {
+                Piece piece = board[i][j];
+                if (piece != null && piece.getType() != null && piece.getColor() != null) {
+                    place(i, j, piece.getType(), piece.getColor());
+                }
+            }
+        }
     }
-    
+
     public Piece getPiece(int row, int col) {
         if (isValidPosition(row, col)) {
-            return board[row][col];
+            int code = position.get(row, col);
+            return code == PieceCodes.EMPTY ? null : PieceCodes.toPiece(code, row, col);
         }
         return null;
     }
-    
+
     public void setPiece(int row, int col, Piece piece) {
         if (isValidPosition(row, col)) {
-            board[row][col] = piece;
+            int code = piece == null ? PieceCodes.EMPTY : PieceCodes.of(piece.getType(), piece.getColor());
+            position.put(Position.square(row, col), code);
             if (piece != null) {
                 piece.setRow(row);
                 piece.setCol(col);
             }
         }
     }
-    
+
     public boolean isValidPosition(int row, int col) {
-        return row >= 0 && row < BOARD_ROWS && col >= 0 && col < BOARD_COLS;
+        return Position.isValidPosition(row, col);
     }
-    
+
     public void movePiece(int fromRow, int fromCol, int toRow, int toCol) {
-        Piece piece = getPiece(fromRow, fromCol);
-        if (piece != null) {
-            Piece capturedPiece = getPiece(toRow, toCol);
-            if (capturedPiece != null) {
-                capturedPiece.setCaptured(true);
-                capturedPieces.add(capturedPiece);
-            }
-            
-            setPiece(toRow, toCol, piece);
-            setPiece(fromRow, fromCol, null);
+        int from = Position.square(fromRow, fromCol);
+        int to = Position.square(toRow, toCol);
+        if (!isValidPosition(fromRow, fromCol) || !isValidPosition(toRow, toCol) || position.isEmpty(from)) {
+            return;
+        }
+
+        int captured = position.makeMove(from, to);
+        if (captured != PieceCodes.EMPTY) {
+            Piece capturedPiece = PieceCodes.toPiece(captured, toRow, toCol);
+            capturedPiece.setCaptured(true);
+            capturedPieces.add(capturedPiece);
         }
     }
-    
+
+    /**
+     * 국면(말 배치 + 둘 차례)의 Zobrist 키. 이동/배치 때 증분으로 갱신된다.
+     */
+    @JsonIgnore
+    public long getZobristKey() {
+        return position.key();
+    }
+
+    /**
+     * {@link #getZobristKey()}의 16자리 16진수 표기 (API/ETag 용)
+     */
+    @JsonIgnore
+    public String getPositionKey() {
+        return String.format("%016x", position.key());
+    }
+
+    /**
+     * 둘 차례를 맞춘다. JSON 보드에는 차례가 없으므로 게임의 currentTurn으로 채운다. (수를 두면 자동으로 넘어감)
+     */
+    @JsonIgnore
+    public void setSideToMove(Piece.PieceColor color) {
+        position.setSideToMove(PieceCodes.color(color));
+    }
+
     public GameBoard copy() {
-        GameBoard newBoard = GameBoard.builder().build();
-        for (int i = 0; i < BOARD_ROWS; i++) {
-            for (int j = 0; j < BOARD_COLS; j++) {
-                Piece piece = this.board[i][j];
-                if (piece != null) {
-                    newBoard.board[i][j] = piece.copy();
-                }
-            }
-        }
-        newBoard.capturedPieces = new ArrayList<>(this.capturedPieces);
-        return newBoard;
+        return GameBoard.builder()
+                .position(position.copy())
+                .capturedPieces(new ArrayList<>(this.capturedPieces))
+                .build();
     }
 }
@@ -0,0 +1,22 @@
+package hjpark.janggibe.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 응답 시점의 대국 시계. 클라이언트는 이 값에서 둘 차례인 쪽만 줄여 가며 보여 준다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameClockView {
+    private long redMainMillis;   // 남은 기본 시간
+    private int redPeriods;       // 남은 초읽기 횟수
+    private long blueMainMillis;
+    private int bluePeriods;
+    private long periodMillis;    // 초읽기 한 번의 길이
+    private long periodLeftMillis; // 둘 차례인 쪽이 초읽기 중일 때 이번 초읽기의 남은 시간
+}
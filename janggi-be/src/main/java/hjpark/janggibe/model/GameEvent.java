@@ -0,0 +1,61 @@
+package hjpark.janggibe.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 게임 상태가 바뀌었을 때 구독자에게 보내는 변경분.
+ * <p>
+ * 보드 전체(boardState) 대신 이동한 칸과 바뀐 턴/상태만 담는다. 클라이언트는 가진 보드에 그대로 적용한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameEvent {
+    private Type type;
+    private Long gameId;
+
+    // MOVE일 때만 채움
+    private Integer fromRow;
+    private Integer fromCol;
+    private Integer toRow;
+    private Integer toCol;
+    private Piece.PieceType pieceType;
+    private Piece.PieceColor pieceColor;
+    private Piece.PieceType capturedPieceType;
+    private Integer moveNumber;
+    private Game.CheckStatus checkStatus;
+
+    private Piece.PieceColor currentTurn;
+    private Game.GameStatus gameStatus;
+    private String winnerName;
+    private GameClockView clock; // MOVED일 때 수를 둔 직후의 시계
+
+    // 참가/퇴장으로 플레이어 구성이 바뀔 때 채움
+    private String redPlayerName;
+    private String bluePlayerName;
+
+    public enum Type {
+        CREATED,  // 대기방 생성 (로비에만 알림)
+        JOINED,   // 상대 참가로 게임 시작
+        MATCHED,  // 매칭 대기열에서 짝지어져 게임 시작 (두 플레이어에게만 알림)
+        MOVED,    // 말 이동
+        LEFT,     // 플레이어 퇴장
+        TIMEOUT,  // 둘 차례인 쪽의 시간 초과로 종료
+        ABANDONED, // 오래 움직임이 없어 정리됨 (gameId가 있으면 해당 게임, 없으면 대기방 일괄 정리로 로비에만 알림)
+        DELETED   // 방 삭제 (로비에만 알림)
+    }
+
+    /**
+     * 대기방 목록에 영향을 주는 이벤트인지
+     */
+    public boolean affectsLobby() {
+        return type == Type.CREATED || type == Type.JOINED || type == Type.LEFT || type == Type.DELETED
+                || (type == Type.ABANDONED && gameId == null);
+    }
+}
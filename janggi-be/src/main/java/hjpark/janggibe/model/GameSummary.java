@@ -0,0 +1,30 @@
+package hjpark.janggibe.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 로비/조회용 게임 요약. 보드(board_state)는 담지 않는다.
+ * <p>
+ * {@link hjpark.janggibe.repository.GameRepository}의 요약 쿼리가 생성자 표현식으로 바로 만들어서 엔티티를 올리지 않는다.
+ * 보드가 필요하면 GET /api/game/{id}로 게임을 따로 읽는다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameSummary {
+    private Long id;
+    private String roomTitle;
+    private String redPlayerName;
+    private String bluePlayerName;
+    private Piece.PieceColor currentTurn;
+    private Game.GameStatus gameStatus;
+    private int moveCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,29 @@
+package hjpark.janggibe.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 메모리에 올라와 있는 진행 중 게임. 엔티티 사본과 역직렬화된 보드를 함께 들고 있다.
+ * <p>
+ * game은 영속성 컨텍스트와 분리된 사본이므로 값을 바꿔도 자동으로 UPDATE되지 않는다.
+ * sharedState는 공유 저장소(Redis)에 마지막으로 기록/확인한 인코딩 값이다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class LiveGame {
+    private final Game game;
+    private final GameBoard board;
+    @Setter
+    private byte[] sharedState;
+
+    public static LiveGame of(Game game, GameBoard board) {
+        return new LiveGame(game.toBuilder().build(), board, null);
+    }
+
+    public Long getId() {
+        return game.getId();
+    }
+}
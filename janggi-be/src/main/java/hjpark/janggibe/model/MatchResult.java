@@ -0,0 +1,33 @@
+package hjpark.janggibe.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 매칭 요청의 결과. 바로 짝지어졌으면 game이 있고, 아니면 WAITING으로 /topic/match/{playerName} 알림을 기다린다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MatchResult {
+    private Status status;
+    private Game game;
+
+    public enum Status {
+        MATCHED,
+        WAITING
+    }
+
+    public static MatchResult matched(Game game) {
+        return MatchResult.builder().status(Status.MATCHED).game(game).build();
+    }
+
+    public static MatchResult waiting() {
+        return MatchResult.builder().status(Status.WAITING).build();
+    }
+}
@@ -8,7 +8,8 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "moves")
+@Table(name = "moves",
+       uniqueConstraints = @UniqueConstraint(name = "uk_moves_game_move", columnNames = {"game_id", "move_number"}))
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,13 @@
+package hjpark.janggibe.repository;
+
+import hjpark.janggibe.model.BoardSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BoardSnapshotRepository extends JpaRepository<BoardSnapshot, Long> {
+    
+    Optional<BoardSnapshot> findTopByGameIdOrderByMoveNumberDesc(Long gameId);
+}
@@ -1,25 +1,83 @@
 package hjpark.janggibe.repository;
 
 import hjpark.janggibe.model.Game;
+import hjpark.janggibe.model.GameSummary;
+import hjpark.janggibe.model.Piece;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
     
-    @Query("SELECT g FROM Game g WHERE (g.redPlayerName = :playerName OR g.bluePlayerName = :playerName) " +
-           "AND g.gameStatus = 'IN_PROGRESS'")
-    Optional<Game> findActiveGameByPlayerName(@Param("playerName") String playerName);
+    // 요약 쿼리: 필요한 컬럼만 골라 GameSummary로 바로 만든다 (board_state를 읽지 않음)
+    String SUMMARY = "SELECT new hjpark.janggibe.model.GameSummary(g.id, g.roomTitle, g.redPlayerName, g.bluePlayerName, " +
+                     "g.currentTurn, g.gameStatus, g.moveCount, g.createdAt, g.updatedAt) FROM Game g ";
     
-    @Query("SELECT g FROM Game g WHERE g.gameStatus = 'WAITING' ORDER BY g.createdAt ASC")
-    List<Game> findWaitingGames();
+    // 빨강/파랑 쪽을 따로 찾아 합친다. OR로 묶으면 MySQL이 두 플레이어 인덱스를 제대로 못 쓰고 전체를 훑음
+    // 양쪽에 진행 중인 게임이 있거나 정리 안 된 행이 남아 있으면 여러 개가 나오므로 List로 받음
+    @Query(SUMMARY + "WHERE g.redPlayerName = :playerName AND g.gameStatus = 'IN_PROGRESS' " +
+           "UNION " +
+           SUMMARY + "WHERE g.bluePlayerName = :playerName AND g.gameStatus = 'IN_PROGRESS'")
+    List<GameSummary> findActiveGameSummariesByPlayerName(@Param("playerName") String playerName);
     
-    @Query("SELECT g FROM Game g WHERE (g.redPlayerName = :playerName OR g.bluePlayerName = :playerName) " +
-           "ORDER BY g.updatedAt DESC")
-    List<Game> findGamesByPlayerName(@Param("playerName") String playerName);
+    // idx_games_status_created 순서대로 읽으므로 정렬이 따로 필요 없음
+    @Query(SUMMARY + "WHERE g.gameStatus = 'WAITING' ORDER BY g.createdAt ASC")
+    List<GameSummary> findWaitingGameSummaries();
+    
+    List<Game> findByRedPlayerNameOrderByUpdatedAtDesc(String playerName);
+    
+    List<Game> findByBluePlayerNameOrderByUpdatedAtDesc(String playerName);
+    
+    /**
+     * playerName이 참여한 게임 (최근 순). id IN (UNION) 서브쿼리는 MySQL에서 games 행마다 도는 종속 서브쿼리가 되므로
+     * 빨강/파랑 쪽을 각자 인덱스로 읽어 여기서 합친다.
+     */
+    default List<Game> findGamesByPlayerName(String playerName) {
+        Map<Long, Game> games = new LinkedHashMap<>();
+        findByRedPlayerNameOrderByUpdatedAtDesc(playerName).forEach(game -> games.put(game.getId(), game));
+        findByBluePlayerNameOrderByUpdatedAtDesc(playerName).forEach(game -> games.putIfAbsent(game.getId(), game));
+        List<Game> merged = new ArrayList<>(games.values());
+        merged.sort(Comparator.comparing(Game::getUpdatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return merged;
+    }
+    
+    // idx_games_status_updated로 오래된 것부터 limit개만 읽음
+    @Query("SELECT g.id FROM Game g WHERE g.gameStatus = :status AND g.updatedAt < :cutoff ORDER BY g.updatedAt ASC")
+    List<Long> findIdleGameIds(@Param("status") Game.GameStatus status,
+                               @Param("cutoff") LocalDateTime cutoff,
+                               Pageable pageable);
+    
+    // 고른 뒤에 움직인 게임은 조건을 다시 걸어 건드리지 않음
+    @Modifying
+    @Query("UPDATE Game g SET g.gameStatus = 'ABANDONED', g.updatedAt = :now " +
+           "WHERE g.id IN :ids AND g.gameStatus = :status AND g.updatedAt < :cutoff")
+    int abandonIdleGames(@Param("ids") List<Long> ids,
+                         @Param("status") Game.GameStatus status,
+                         @Param("cutoff") LocalDateTime cutoff,
+                         @Param("now") LocalDateTime now);
+    
+    @Query("SELECT g.id FROM Game g WHERE g.id IN :ids AND g.gameStatus = :status")
+    List<Long> findIdsWithStatus(@Param("ids") List<Long> ids, @Param("status") Game.GameStatus status);
+    
+    // 정리(ABANDONED)된 게임은 되살리지 않음. 0이면 그 사이 정리된 것
+    @Modifying
+    @Query("UPDATE Game g SET g.moveCount = :moveCount, g.currentTurn = :currentTurn, g.gameStatus = :gameStatus, " +
+           "g.winnerName = :winnerName, g.updatedAt = :updatedAt WHERE g.id = :gameId AND g.gameStatus <> 'ABANDONED'")
+    int updateGameState(@Param("gameId") Long gameId,
+                        @Param("moveCount") int moveCount,
+                        @Param("currentTurn") Piece.PieceColor currentTurn,
+                        @Param("gameStatus") Game.GameStatus gameStatus,
+                        @Param("winnerName") String winnerName,
+                        @Param("updatedAt") LocalDateTime updatedAt);
 }
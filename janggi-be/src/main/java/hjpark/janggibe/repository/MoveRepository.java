@@ -13,6 +13,8 @@ public interface MoveRepository extends JpaRepository<Move, Long> {
     
     List<Move> findByGameIdOrderByMoveNumberAsc(Long gameId);
     
+    List<Move> findByGameIdAndMoveNumberGreaterThanOrderByMoveNumberAsc(Long gameId, int moveNumber);
+    
     @Query("SELECT m FROM Move m WHERE m.gameId = :gameId ORDER BY m.moveNumber DESC")
     List<Move> findLatestMovesByGameId(@Param("gameId") Long gameId, org.springframework.data.domain.Pageable pageable);
     
@@ -0,0 +1,176 @@
+package hjpark.janggibe.service;
+
+import hjpark.janggibe.engine.PieceCodes;
+import hjpark.janggibe.engine.Search;
+import hjpark.janggibe.model.Game;
+import hjpark.janggibe.model.GameBoard;
+import hjpark.janggibe.model.GameEvent;
+import hjpark.janggibe.model.GameSummary;
+import hjpark.janggibe.model.Piece;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AI 좌석. {@link #addOpponent(Long)}로 대기 중인 게임에 AI가 참가하고,
+ * 이후 AI 차례가 된 커밋 이벤트를 받을 때마다 별도 스레드에서 {@link Search}로 수를 찾아 둔다.
+ * AI가 앉은 게임은 메모리에 따로 들고 있어서 다른 게임의 이벤트는 레인을 거치지 않고 버린다.
+ * <p>
+ * 탐색은 게임 레인 밖에서 보드 사본으로 하고, 찾은 수만 레인을 거쳐 일반 이동과 같은 경로로 반영한다.
+ */
+@Service
+@Slf4j
+public class AiPlayerService {
+
+    private final GameService gameService;
+    private final GameCommandExecutor gameCommandExecutor;
+    private final String playerName;
+    private final long moveTimeMillis;
+    private final int maxDepth;
+    private final ExecutorService executor;
+    private final ThreadLocal<Search> searches;
+    // AI가 앉아 있는 진행 중 게임 -> AI 쪽 색 (참가/매칭 이벤트로 채우고 게임이 끝나거나 대기로 돌아가면 뺌)
+    private final Map<Long, Piece.PieceColor> seats = new ConcurrentHashMap<>();
+
+    public AiPlayerService(GameService gameService,
+                           GameCommandExecutor gameCommandExecutor,
+                           @Value("${janggi.ai.player-name:장기AI}") String playerName,
+                           @Value("${janggi.ai.move-time-millis:2000}") long moveTimeMillis,
+                           @Value("${janggi.ai.max-depth:32}") int maxDepth,
+                           @Value("${janggi.ai.threads:0}") int threads,
+                           @Value("${janggi.ai.table-bits:20}") int tableBits) {
+        this.gameService = gameService;
+        this.gameCommandExecutor = gameCommandExecutor;
+        this.playerName = playerName;
+        this.moveTimeMillis = moveTimeMillis;
+        this.maxDepth = maxDepth;
+
+        int threadCount = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "ai-search-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 트랜스포지션 표는 크므로 스레드마다 하나만 만들어 재사용
+        this.searches = ThreadLocal.withInitial(() -> new Search(tableBits));
+        log.info("AI 설정: name={}, moveTime={}ms, maxDepth={}, threads={}", playerName, moveTimeMillis, maxDepth, threadCount);
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * 대기 중인 게임에 AI를 상대로 앉힌다.
+     */
+    public Game addOpponent(Long gameId) {
+        return gameCommandExecutor.execute(gameId, () -> gameService.joinGame(gameId, playerName));
+    }
+
+    /**
+     * 재시작 전부터 AI가 앉아 있던 진행 중 게임을 좌석 목록에 다시 올리고, AI 차례인 게임은 바로 둔다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreSeats() {
+        for (GameSummary game : gameService.getActiveGamesByPlayerName(playerName)) {
+            Piece.PieceColor side = sideOf(game.getRedPlayerName(), game.getBluePlayerName());
+            if (side != null) {
+                seats.put(game.getId(), side);
+                if (game.getCurrentTurn() == side) {
+                    submit(game.getId());
+                }
+            }
+        }
+        log.info("AI 좌석 복원: {}개", seats.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGameEvent(GameEvent event) {
+        Long gameId = event.getGameId();
+        if (gameId == null) {
+            return;
+        }
+        if (event.getGameStatus() != Game.GameStatus.IN_PROGRESS) {
+            seats.remove(gameId);
+            return;
+        }
+        if (event.getRedPlayerName() != null || event.getBluePlayerName() != null) {
+            // 참가/매칭/퇴장으로 플레이어 구성이 바뀜
+            Piece.PieceColor side = sideOf(event.getRedPlayerName(), event.getBluePlayerName());
+            if (side != null) {
+                seats.put(gameId, side);
+            } else {
+                seats.remove(gameId);
+            }
+        }
+
+        // 사람끼리 두는 게임과 상대 차례의 이벤트는 레인에 작업을 넣지 않고 여기서 거름
+        Piece.PieceColor side = seats.get(gameId);
+        if (side != null && event.getCurrentTurn() == side) {
+            submit(gameId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void submit(Long gameId) {
+        try {
+            executor.execute(() -> playIfTurn(gameId));
+        } catch (RejectedExecutionException e) {
+            log.warn("AI 작업을 받지 못했습니다: gameId={}", gameId);
+        }
+    }
+
+    private Piece.PieceColor sideOf(String redPlayerName, String bluePlayerName) {
+        if (playerName.equals(redPlayerName)) {
+            return Piece.PieceColor.RED;
+        }
+        if (playerName.equals(bluePlayerName)) {
+            return Piece.PieceColor.BLUE;
+        }
+        return null;
+    }
+
+    private void playIfTurn(Long gameId) {
+        try {
+            // 레인 안에서 읽어야 이동 도중의 보드를 보지 않음
+            Optional<GameBoard> board = gameCommandExecutor.execute(gameId,
+                    () -> gameService.copyBoardIfTurn(gameId, playerName));
+            if (board.isEmpty()) {
+                return;
+            }
+
+            GameBoard position = board.get();
+            int side = position.getPosition().getSideToMove();
+            Search.Result result = searches.get().search(position.getPosition(), side, moveTimeMillis, maxDepth);
+            if (!result.hasMove()) {
+                log.warn("AI가 둘 수를 찾지 못했습니다: gameId={}", gameId);
+                return;
+            }
+            log.info("AI 수 선택: gameId={}, side={}, {}", gameId, side == PieceCodes.RED ? "RED" : "BLUE", result);
+
+            gameCommandExecutor.execute(gameId, () -> gameService.makeMove(gameId, playerName,
+                    result.getFromRow(), result.getFromCol(), result.getToRow(), result.getToCol()));
+        } catch (RuntimeException e) {
+            // 그 사이 상대가 나갔거나 게임이 끝난 경우 등. 다음 이벤트에서 다시 판단함
+            log.warn("AI 수 처리 실패: gameId={}, {}", gameId, e.getMessage());
+        }
+    }
+}
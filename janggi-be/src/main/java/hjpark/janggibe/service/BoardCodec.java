@@ -0,0 +1,22 @@
+package hjpark.janggibe.service;
+
+import hjpark.janggibe.model.GameBoard;
+
+/**
+ * games.board_state(및 API 응답의 boardState) 문자열 형식.
+ * <p>
+ * 쓰기는 설정한 형식 하나로만 하고, 읽을 때는 문자열 앞부분을 보고 맞는 코덱을 고른다.
+ * 그래서 형식을 바꿔도 이미 저장된 행은 그대로 읽힌다.
+ */
+public interface BoardCodec {
+
+    /** 설정(janggi.board.codec)에서 쓰는 이름 */
+    String name();
+
+    /** 이 코덱으로 쓴 문자열인지 */
+    boolean canDecode(String boardState);
+
+    String encode(GameBoard board);
+
+    GameBoard decode(String boardState);
+}
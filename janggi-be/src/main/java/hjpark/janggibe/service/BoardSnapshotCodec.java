@@ -0,0 +1,74 @@
+package hjpark.janggibe.service;
+
+import hjpark.janggibe.engine.PieceCodes;
+import hjpark.janggibe.engine.Position;
+import hjpark.janggibe.model.GameBoard;
+import hjpark.janggibe.model.Piece;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 보드(말 배치 + 잡힌 말)의 압축 바이너리 형식.
+ * <pre>
+ * [보드 45B: 칸당 4비트 말 코드][잡힌 말 수 1B][잡힌 말 (코드 1B, 칸 1B) x n]
+ * </pre>
+ * 스냅샷 테이블과 공유 저장소 인코딩({@link SharedGameStateCodec})이 같이 쓴다.
+ */
+public final class BoardSnapshotCodec {
+
+    private static final int BOARD_BYTES = Position.SQUARES / 2;
+
+    private BoardSnapshotCodec() {
+    }
+
+    public static byte[] encode(GameBoard board) {
+        ByteBuffer buffer = ByteBuffer.allocate(size(board));
+        write(buffer, board);
+        return buffer.array();
+    }
+
+    public static GameBoard decode(byte[] bytes) {
+        GameBoard board = new GameBoard();
+        read(ByteBuffer.wrap(bytes), board);
+        return board;
+    }
+
+    static int size(GameBoard board) {
+        return BOARD_BYTES + 1 + board.getCapturedPieces().size() * 2;
+    }
+
+    static void write(ByteBuffer buffer, GameBoard board) {
+        Position position = board.getPosition();
+        for (int sq = 0; sq < Position.SQUARES; sq += 2) {
+            buffer.put((byte) ((position.get(sq) << 4) | position.get(sq + 1)));
+        }
+        List<Piece> captured = board.getCapturedPieces();
+        buffer.put((byte) captured.size());
+        for (Piece piece : captured) {
+            buffer.put((byte) PieceCodes.of(piece.getType(), piece.getColor()));
+            buffer.put((byte) Position.square(piece.getRow(), piece.getCol()));
+        }
+    }
+
+    static void read(ByteBuffer buffer, GameBoard board) {
+        Position position = board.getPosition();
+        for (int sq = 0; sq < Position.SQUARES; sq += 2) {
+            int packed = buffer.get() & 0xFF;
+            position.put(sq, packed >>> 4);
+            position.put(sq + 1, packed & 0x0F);
+        }
+
+        int capturedCount = buffer.get() & 0xFF;
+        List<Piece> captured = new ArrayList<>(capturedCount);
+        for (int i = 0; i < capturedCount; i++) {
+            int code = buffer.get();
+            int square = buffer.get();
+            Piece piece = PieceCodes.toPiece(code, Position.row(square), Position.col(square));
+            piece.setCaptured(true);
+            captured.add(piece);
+        }
+        board.setCapturedPieces(captured);
+    }
+}
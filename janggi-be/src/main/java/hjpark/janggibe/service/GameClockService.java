@@ -0,0 +1,290 @@
+package hjpark.janggibe.service;
+
+import hjpark.janggibe.model.GameClockView;
+import hjpark.janggibe.model.Piece;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서버 쪽 대국 시계. 기본 시간을 다 쓰면 초읽기로 넘어가고, 초읽기 안에 두면 그 횟수는 줄지 않는다.
+ * <p>
+ * 게임마다 둘 차례인 쪽의 시간이 다 되는 시각 하나만 {@link TimingWheel}에 예약한다. 수를 두면 예약을 바꾸고,
+ * 만료되면 해당 게임 레인에서 {@link GameService#timeout}을 불러 이동과 같은 경로로 게임을 끝낸다.
+ * <p>
+ * 기본으로 꺼져 있다. (janggi.clock.enabled=true로 켬) 시계는 메모리에만 있어서 서버가 재시작되면 진행 중인 게임은
+ * 처음 불러올 때 양쪽 모두 기본 시간부터 새로 시작한다. 여러 서버로 나눠 띄우면 게임을 처리한 서버마다 시계가 따로 돈다.
+ */
+@Service
+@Slf4j
+public class GameClockService {
+
+    private static final long RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ObjectProvider<GameService> gameService;
+    private final GameCommandExecutor gameCommandExecutor;
+    private final boolean enabled;
+    private final long mainNanos;
+    private final long periodNanos;
+    private final int periods;
+    private final TimingWheel wheel;
+    private final ConcurrentHashMap<Long, GameClock> clocks = new ConcurrentHashMap<>();
+
+    public GameClockService(ObjectProvider<GameService> gameService,
+                            GameCommandExecutor gameCommandExecutor,
+                            @Value("${janggi.clock.enabled:false}") boolean enabled,
+                            @Value("${janggi.clock.main-time:10m}") Duration mainTime,
+                            @Value("${janggi.clock.byoyomi-time:30s}") Duration byoyomiTime,
+                            @Value("${janggi.clock.byoyomi-periods:3}") int byoyomiPeriods,
+                            @Value("${janggi.clock.tick:100ms}") Duration tick,
+                            @Value("${janggi.clock.wheel-size:512}") int wheelSize) {
+        this.gameService = gameService;
+        this.gameCommandExecutor = gameCommandExecutor;
+        this.enabled = enabled;
+        this.mainNanos = mainTime.toNanos();
+        this.periodNanos = byoyomiTime.toNanos();
+        this.periods = byoyomiPeriods;
+        this.wheel = enabled ? new TimingWheel("game-clock", tick, wheelSize) : null;
+        log.info("대국 시계 설정: enabled={}, main={}, byoyomi={}x{}, tick={}, wheelSize={}",
+                enabled, mainTime, byoyomiPeriods, byoyomiTime, tick, wheelSize);
+    }
+
+    /**
+     * 새 게임의 시계를 시작한다. 트랜잭션이 커밋되지 않으면 없던 일로 한다.
+     */
+    public void start(Long gameId, Piece.PieceColor sideToMove, int moveCount) {
+        if (!enabled) {
+            return;
+        }
+        GameClock clock = new GameClock(mainNanos, periods, index(sideToMove), System.nanoTime(), moveCount);
+        GameClock previous = clocks.put(gameId, clock);
+        if (previous != null) {
+            previous.cancelTimeout();
+        }
+        arm(gameId, clock);
+        onRollback(() -> stop(gameId));
+    }
+
+    /**
+     * 진행 중인 게임에 시계가 없으면(재시작 등) 새로 시작한다.
+     */
+    public void resume(Long gameId, Piece.PieceColor sideToMove, int moveCount) {
+        if (enabled && !clocks.containsKey(gameId)) {
+            start(gameId, sideToMove, moveCount);
+        }
+    }
+
+    /**
+     * 둘 차례인 쪽의 시간이 다 됐는지
+     */
+    public boolean isFlagged(Long gameId) {
+        GameClock clock = enabled ? clocks.get(gameId) : null;
+        return clock != null && clock.isFlagged(System.nanoTime(), periodNanos);
+    }
+
+    /**
+     * mover가 수를 둔 뒤 시계를 상대 쪽으로 넘긴다. 트랜잭션이 커밋되지 않으면 되돌린다.
+     */
+    public void press(Long gameId, Piece.PieceColor mover, int moveCount) {
+        GameClock clock = enabled ? clocks.get(gameId) : null;
+        if (clock == null || clock.running() != index(mover)) {
+            return;
+        }
+        GameClock.State before = clock.press(System.nanoTime(), periodNanos, moveCount);
+        arm(gameId, clock);
+        onRollback(() -> {
+            clock.restore(before);
+            arm(gameId, clock);
+        });
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 시계를 멈춘다. (트랜잭션 밖이면 바로)
+     */
+    public void stopAfterCommit(Long gameId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stop(gameId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stop(gameId);
+            }
+        });
+    }
+
+    public void stop(Long gameId) {
+        GameClock clock = enabled ? clocks.remove(gameId) : null;
+        if (clock != null) {
+            clock.cancelTimeout();
+        }
+    }
+
+    /**
+     * 지금 시각의 시계. 시계가 없으면 null
+     */
+    public GameClockView view(Long gameId) {
+        GameClock clock = enabled ? clocks.get(gameId) : null;
+        return clock == null ? null : clock.view(System.nanoTime(), periodNanos);
+    }
+
+    public int activeClocks() {
+        return clocks.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (wheel != null) {
+            wheel.close();
+        }
+    }
+
+    private void arm(Long gameId, GameClock clock) {
+        long delay = clock.deadline(periodNanos) - System.nanoTime();
+        int moveCount = clock.moveCount();
+        clock.replaceTimeout(wheel.schedule(() -> expire(gameId, clock, moveCount), delay, TimeUnit.NANOSECONDS));
+    }
+
+    // 휠 스레드에서 불리므로 레인에 넣기만 하고 돌아옴
+    private void expire(Long gameId, GameClock clock, int moveCount) {
+        if (clocks.get(gameId) != clock) {
+            return;
+        }
+        boolean submitted = gameCommandExecutor.submit(gameId, () -> gameService.getObject().timeout(gameId, moveCount));
+        if (!submitted) {
+            log.warn("시간 초과 처리를 레인에 넣지 못해 다시 예약합니다: gameId={}", gameId);
+            clock.replaceTimeout(wheel.schedule(() -> expire(gameId, clock, moveCount), RETRY_NANOS, TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private static void onRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private static int index(Piece.PieceColor color) {
+        return color == Piece.PieceColor.RED ? 0 : 1;
+    }
+
+    /**
+     * 한 게임의 시계. 레인 밖(조회)에서도 읽으므로 메서드 단위로 동기화한다.
+     */
+    private static final class GameClock {
+        private final long[] mainLeft = new long[2];
+        private final int[] periodsLeft = new int[2];
+        private int running;
+        private long turnStartedAt;
+        private int moveCount;
+        private TimingWheel.Timeout timeout;
+
+        GameClock(long mainNanos, int periods, int running, long now, int moveCount) {
+            mainLeft[0] = mainLeft[1] = mainNanos;
+            periodsLeft[0] = periodsLeft[1] = periods;
+            this.running = running;
+            this.turnStartedAt = now;
+            this.moveCount = moveCount;
+        }
+
+        synchronized int running() {
+            return running;
+        }
+
+        synchronized int moveCount() {
+            return moveCount;
+        }
+
+        /**
+         * 둘 차례인 쪽이 기본 시간과 남은 초읽기를 모두 쓰는 시각
+         */
+        synchronized long deadline(long periodNanos) {
+            return turnStartedAt + mainLeft[running] + periodsLeft[running] * periodNanos;
+        }
+
+        synchronized boolean isFlagged(long now, long periodNanos) {
+            return now - deadline(periodNanos) >= 0;
+        }
+
+        /**
+         * 둘 차례인 쪽이 쓴 시간을 빼고 상대에게 넘긴다. 되돌릴 수 있게 이전 상태를 돌려준다.
+         * 초읽기는 한 번 길이를 넘긴 만큼만 줄어든다.
+         */
+        synchronized State press(long now, long periodNanos, int moveCount) {
+            State before = new State(mainLeft.clone(), periodsLeft.clone(), running, turnStartedAt, this.moveCount);
+            long elapsed = now - turnStartedAt;
+            if (elapsed <= mainLeft[running]) {
+                mainLeft[running] -= elapsed;
+            } else {
+                long over = elapsed - mainLeft[running];
+                mainLeft[running] = 0;
+                periodsLeft[running] = (int) Math.max(0, periodsLeft[running] - over / periodNanos);
+            }
+            running = 1 - running;
+            turnStartedAt = now;
+            this.moveCount = moveCount;
+            return before;
+        }
+
+        synchronized void restore(State state) {
+            System.arraycopy(state.mainLeft(), 0, mainLeft, 0, 2);
+            System.arraycopy(state.periodsLeft(), 0, periodsLeft, 0, 2);
+            running = state.running();
+            turnStartedAt = state.turnStartedAt();
+            moveCount = state.moveCount();
+        }
+
+        synchronized void replaceTimeout(TimingWheel.Timeout next) {
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            timeout = next;
+        }
+
+        synchronized void cancelTimeout() {
+            replaceTimeout(null);
+        }
+
+        synchronized GameClockView view(long now, long periodNanos) {
+            long[] main = mainLeft.clone();
+            int[] left = periodsLeft.clone();
+            long periodLeft = periodNanos;
+            long elapsed = Math.max(0, now - turnStartedAt);
+            if (elapsed <= main[running]) {
+                main[running] -= elapsed;
+            } else {
+                long over = elapsed - main[running];
+                main[running] = 0;
+                left[running] = (int) Math.max(0, left[running] - over / periodNanos);
+                periodLeft = left[running] == 0 ? 0 : periodNanos - over % periodNanos;
+            }
+            return GameClockView.builder()
+                    .redMainMillis(TimeUnit.NANOSECONDS.toMillis(main[0]))
+                    .redPeriods(left[0])
+                    .blueMainMillis(TimeUnit.NANOSECONDS.toMillis(main[1]))
+                    .bluePeriods(left[1])
+                    .periodMillis(TimeUnit.NANOSECONDS.toMillis(periodNanos))
+                    .periodLeftMillis(TimeUnit.NANOSECONDS.toMillis(periodLeft))
+                    .build();
+        }
+
+        record State(long[] mainLeft, int[] periodsLeft, int running, long turnStartedAt, int moveCount) {
+        }
+    }
+}
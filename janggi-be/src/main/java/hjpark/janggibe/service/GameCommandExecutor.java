@@ -0,0 +1,126 @@
+package hjpark.janggibe.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 게임 상태를 바꾸는 명령을 게임별로 한 줄로 세워 실행한다.
+ * <p>
+ * 게임 id로 고른 단일 스레드 레인에서 명령(트랜잭션 커밋까지)을 실행하므로 같은 게임의 이동/참가/퇴장이
+ * 서로의 결과를 덮어쓰지 않는다. 다른 게임은 다른 레인에서 병렬로 처리된다.
+ * 여러 노드 사이의 경합은 {@link GameStateCache#commit}의 비교 후 교체가 막는다.
+ */
+@Component
+@Slf4j
+public class GameCommandExecutor {
+
+    private final ThreadPoolExecutor[] lanes;
+
+    public GameCommandExecutor(@Value("${janggi.executor.lanes:0}") int laneCount,
+                               @Value("${janggi.executor.queue-capacity:1000}") int queueCapacity) {
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors() * 2;
+        this.lanes = new ThreadPoolExecutor[count];
+        for (int i = 0; i < count; i++) {
+            String name = "game-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                        Thread thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        log.info("게임 명령 실행기 설정: lanes={}, queueCapacity={}", count, queueCapacity);
+    }
+
+    /**
+     * gameId의 레인에서 command를 실행하고 결과를 기다린다. 명령이 던진 예외는 그대로 다시 던진다.
+     */
+    public <T> T execute(Long gameId, Supplier<T> command) {
+        ThreadPoolExecutor lane = lanes[laneIndex(gameId)];
+        if (Thread.currentThread().getName().equals(threadName(gameId))) {
+            // 레인 안에서 같은 게임 명령을 다시 부르면 그대로 실행 (자기 자신을 기다리는 교착 방지)
+            return command.get();
+        }
+
+        Future<T> future;
+        try {
+            future = lane.submit(command::get);
+        } catch (RejectedExecutionException e) {
+            throw new RuntimeException("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("요청 처리가 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    public void execute(Long gameId, Runnable command) {
+        execute(gameId, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    /**
+     * gameId의 레인에 command를 넣고 기다리지 않는다. 레인이 가득 차 있으면 false.
+     * (타이머 스레드처럼 막히면 안 되는 호출자용. 명령이 던진 예외는 로그로만 남음)
+     */
+    public boolean submit(Long gameId, Runnable command) {
+        try {
+            lanes[laneIndex(gameId)].execute(() -> {
+                try {
+                    command.run();
+                } catch (RuntimeException e) {
+                    log.warn("게임 명령 실패: gameId={}, {}", gameId, e.getMessage());
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("게임 명령 레인이 제시간에 끝나지 않았습니다.");
+                lane.shutdownNow();
+            }
+        }
+    }
+
+    private int laneIndex(Long gameId) {
+        long h = gameId * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(h ^ (h >>> 32), (long) lanes.length);
+    }
+
+    private String threadName(Long gameId) {
+        return "game-lane-" + laneIndex(gameId);
+    }
+}
@@ -0,0 +1,46 @@
+package hjpark.janggibe.service;
+
+import hjpark.janggibe.model.GameEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * {@link GameService}가 발행한 {@link GameEvent}를 트랜잭션 커밋 후에 STOMP 구독자에게 보낸다.
+ * 롤백된 변경은 나가지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameEventBroadcaster {
+
+    public static final String GAME_TOPIC = "/topic/game/";
+    public static final String LOBBY_TOPIC = "/topic/lobby";
+    public static final String MATCH_TOPIC = "/topic/match/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGameEvent(GameEvent event) {
+        try {
+            if (event.getType() == GameEvent.Type.MATCHED) {
+                // 대기열에 있던 쪽은 이 알림으로 게임 시작을 안다
+                messagingTemplate.convertAndSend(MATCH_TOPIC + event.getRedPlayerName(), event);
+                messagingTemplate.convertAndSend(MATCH_TOPIC + event.getBluePlayerName(), event);
+                return;
+            }
+            if (event.getType() != GameEvent.Type.CREATED && event.getGameId() != null) {
+                messagingTemplate.convertAndSend(GAME_TOPIC + event.getGameId(), event);
+            }
+            if (event.affectsLobby()) {
+                messagingTemplate.convertAndSend(LOBBY_TOPIC, event);
+            }
+        } catch (Exception e) {
+            // 전송 실패는 이미 커밋된 게임 진행에 영향을 주지 않음 (클라이언트는 재접속 시 전체를 다시 읽음)
+            log.warn("게임 이벤트 전송 실패: gameId={}, type={}", event.getGameId(), event.getType(), e);
+        }
+    }
+}
@@ -1,288 +1,131 @@
 package hjpark.janggibe.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hjpark.janggibe.engine.MoveGenerator;
+import hjpark.janggibe.engine.PieceCodes;
+import hjpark.janggibe.engine.Position;
+import hjpark.janggibe.engine.Rules;
+import hjpark.janggibe.model.Game;
 import hjpark.janggibe.model.GameBoard;
 import hjpark.janggibe.model.Piece;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class GameLogicService {
     
-    private final ObjectMapper objectMapper;
+    private static final Game.CheckStatus[] CHECK_STATUSES = Game.CheckStatus.values();
     
-    public String serializeBoard(GameBoard board) {
-        try {
-            return objectMapper.writeValueAsString(board);
-        } catch (JsonProcessingException e) {
-            log.error("보드 직렬화 실패", e);
-            throw new RuntimeException("보드 상태 저장 실패");
-        }
-    }
-    
-    public GameBoard deserializeBoard(String boardState) {
-        try {
-            return objectMapper.readValue(boardState, GameBoard.class);
-        } catch (JsonProcessingException e) {
-            log.error("보드 역직렬화 실패", e);
-            throw new RuntimeException("보드 상태 복원 실패");
-        }
-    }
-    
-    public boolean isValidMove(GameBoard board, int fromRow, int fromCol, int toRow, int toCol, Piece.PieceColor playerColor) {
-        Piece piece = board.getPiece(fromRow, fromCol);
-        
-        if (piece == null || piece.getColor() != playerColor) {
-            return false;
-        }
-        
-        Piece targetPiece = board.getPiece(toRow, toCol);
-        if (targetPiece != null && targetPiece.getColor() == playerColor) {
-            return false; // 같은 색 말을 잡을 수 없음
-        }
-        
-        return isValidMoveForPiece(board, piece, fromRow, fromCol, toRow, toCol);
-    }
-    
-    private boolean isValidMoveForPiece(GameBoard board, Piece piece, int fromRow, int fromCol, int toRow, int toCol) {
-        switch (piece.getType()) {
-            case KING:
-                return isValidKingMove(board, fromRow, fromCol, toRow, toCol, piece.getColor());
-            case GUARD:
-                return isValidGuardMove(board, fromRow, fromCol, toRow, toCol, piece.getColor());
-            case ELEPHANT:
-                return isValidElephantMove(board, fromRow, fromCol, toRow, toCol, piece.getColor());
-            case HORSE:
-                return isValidHorseMove(board, fromRow, fromCol, toRow, toCol);
-            case CHARIOT:
-                return isValidChariotMove(board, fromRow, fromCol, toRow, toCol);
-            case CANNON:
-                return isValidCannonMove(board, fromRow, fromCol, toRow, toCol);
-            case SOLDIER:
-                return isValidSoldierMove(board, fromRow, fromCol, toRow, toCol, piece.getColor());
-            default:
-                return false;
-        }
-    }
+    private final BoardCodec writeCodec;
+    private final List<BoardCodec> codecs;
     
-    private boolean isValidKingMove(GameBoard board, int fromRow, int fromCol, int toRow, int toCol, Piece.PieceColor color) {
-        // 왕은 궁성 내에서만 이동 가능
-        if (!isInPalace(toRow, toCol, color)) {
-            return false;
-        }
-        
-        int rowDiff = Math.abs(toRow - fromRow);
-        int colDiff = Math.abs(toCol - fromCol);
-        
-        // 대각선 또는 직선으로 한 칸만 이동 가능
-        return (rowDiff == 1 && colDiff == 0) || (rowDiff == 0 && colDiff == 1) || 
-               (rowDiff == 1 && colDiff == 1);
+    /**
+     * boardState는 janggi.board.codec(compact 또는 json) 형식으로 쓰고, 읽을 때는 두 형식을 모두 받는다.
+     */
+    @Autowired
+    public GameLogicService(ObjectMapper objectMapper, @Value("${janggi.board.codec:compact}") String codecName) {
+        this.codecs = List.of(new CompactBoardCodec(), new JsonBoardCodec(objectMapper));
+        this.writeCodec = codecs.stream()
+                .filter(codec -> codec.name().equals(codecName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("알 수 없는 보드 형식: " + codecName));
+        log.info("보드 저장 형식: {}", codecName);
     }
     
-    private boolean isValidGuardMove(GameBoard board, int fromRow, int fromCol, int toRow, int toCol, Piece.PieceColor color) {
-        // 사는 궁성 내에서만 이동 가능
-        if (!isInPalace(toRow, toCol, color)) {
-            return false;
-        }
-        
-        int rowDiff = Math.abs(toRow - fromRow);
-        int colDiff = Math.abs(toCol - fromCol);
-        
-        // 대각선으로만 이동 가능
-        return rowDiff == 1 && colDiff == 1;
+    public GameLogicService(ObjectMapper objectMapper) {
+        this(objectMapper, "compact");
     }
     
-    private boolean isValidElephantMove(GameBoard board, int fromRow, int fromCol, int toRow, int toCol, Piece.PieceColor color) {
-        // 상은 강을 건너갈 수 없음
-        if (color == Piece.PieceColor.RED && toRow > 4) {
-            return false;
-        }
-        if (color == Piece.PieceColor.BLUE && toRow < 5) {
-            return false;
-        }
-        
-        int rowDiff = Math.abs(toRow - fromRow);
-        int colDiff = Math.abs(toCol - fromCol);
-        
-        // 대각선으로 두 칸씩 이동
-        if (rowDiff == 2 && colDiff == 2) {
-            // 중간에 말이 있으면 이동 불가
-            int midRow = (fromRow + toRow) / 2;
-            int midCol = (fromCol + toCol) / 2;
-            return board.getPiece(midRow, midCol) == null;
-        }
-        
-        return false;
+    public String serializeBoard(GameBoard board) {
+        return writeCodec.encode(board);
     }
     
-    private boolean isValidHorseMove(GameBoard board, int fromRow, int fromCol, int toRow, int toCol) {
-        int rowDiff = Math.abs(toRow - fromRow);
-        int colDiff = Math.abs(toCol - fromCol);
-        
-        // 말의 이동 패턴: 2-1 또는 1-2
-        if ((rowDiff == 2 && colDiff == 1) || (rowDiff == 1 && colDiff == 2)) {
-            // 막힌 방향 확인
-            int blockRow = fromRow;
-            int blockCol = fromCol;
-            
-            if (rowDiff == 2) {
-                blockRow = fromRow + (toRow - fromRow) / 2;
-            } else {
-                blockCol = fromCol + (toCol - fromCol) / 2;
+    public GameBoard deserializeBoard(String boardState) {
+        for (BoardCodec codec : codecs) {
+            if (codec.canDecode(boardState)) {
+                return codec.decode(boardState);
             }
-            
-            return board.getPiece(blockRow, blockCol) == null;
         }
-        
-        return false;
+        log.error("알 수 없는 보드 형식: {}", boardState.length() > 20 ? boardState.substring(0, 20) + "..." : boardState);
+        throw new RuntimeException("보드 상태 복원 실패");
     }
     
-    private boolean isValidChariotMove(GameBoard board, int fromRow, int fromCol, int toRow, int toCol) {
-        // 차는 직선으로만 이동
-        if (fromRow != toRow && fromCol != toCol) {
+    public boolean isValidMove(GameBoard board, int fromRow, int fromCol, int toRow, int toCol, Piece.PieceColor playerColor) {
+        if (!Position.isValidPosition(fromRow, fromCol) || !Position.isValidPosition(toRow, toCol)) {
             return false;
         }
-        
-        // 경로에 다른 말이 있는지 확인
-        return isPathClear(board, fromRow, fromCol, toRow, toCol);
+        return isValidMove(board.getPosition(),
+                Position.square(fromRow, fromCol), Position.square(toRow, toCol), PieceCodes.color(playerColor));
     }
     
-    private boolean isValidCannonMove(GameBoard board, int fromRow, int fromCol, int toRow, int toCol) {
-        // 포는 직선으로만 이동
-        if (fromRow != toRow && fromCol != toCol) {
-            return false;
-        }
-        
-        // 목표 지점에 말이 있는지 확인
-        Piece targetPiece = board.getPiece(toRow, toCol);
-        if (targetPiece == null) {
-            // 목표 지점이 비어있으면 차와 같은 이동
-            return isPathClear(board, fromRow, fromCol, toRow, toCol);
-        } else {
-            // 목표 지점에 말이 있으면 포를 넘어서 이동
-            return isPathClearWithOneJump(board, fromRow, fromCol, toRow, toCol);
-        }
+    /**
+     * 엔진 보드 기준 규칙 검사(자기 왕을 공격받게 두는 수 제외). 대국 중 이동과 기록 검증({@link ReplayAuditService})이 같은 규칙을 쓴다.
+     */
+    public boolean isValidMove(Position position, int from, int to, int color) {
+        return Rules.isLegal(position, from, to, color);
     }
     
-    private boolean isValidSoldierMove(GameBoard board, int fromRow, int fromCol, int toRow, int toCol, Piece.PieceColor color) {
-        int rowDiff = toRow - fromRow;
-        int colDiff = Math.abs(toCol - fromCol);
-        
-        // 졸/병은 한 칸씩만 이동
-        if (Math.abs(rowDiff) > 1 || colDiff > 1) {
-            return false;
-        }
-        
-        // 강을 건넌 후에는 좌우로도 이동 가능
-        boolean crossedRiver = (color == Piece.PieceColor.RED && fromRow > 4) || 
-                              (color == Piece.PieceColor.BLUE && fromRow < 5);
-        
-        if (crossedRiver) {
-            // 강을 건넌 후: 앞, 좌, 우로 이동 가능
-            return (rowDiff == 0 && colDiff == 1) || 
-                   (color == Piece.PieceColor.RED && rowDiff == 1) ||
-                   (color == Piece.PieceColor.BLUE && rowDiff == -1);
-        } else {
-            // 강을 건너기 전: 앞으로만 이동 가능
-            return colDiff == 0 && 
-                   ((color == Piece.PieceColor.RED && rowDiff == 1) ||
-                    (color == Piece.PieceColor.BLUE && rowDiff == -1));
-        }
+    public boolean isGameOver(GameBoard board, Piece.PieceColor lastMoveColor) {
+        // 왕이 잡혔는지 확인 (점유 비트마스크로 O(1))
+        Position position = board.getPosition();
+        return !position.contains(PieceCodes.KING | PieceCodes.RED)
+                || !position.contains(PieceCodes.KING | PieceCodes.BLUE);
     }
     
-    private boolean isInPalace(int row, int col, Piece.PieceColor color) {
-        if (color == Piece.PieceColor.RED) {
-            // 한나라 궁성 (0-2행, 3-5열)
-            return row >= 0 && row <= 2 && col >= 3 && col <= 5;
-        } else {
-            // 초나라 궁성 (7-9행, 3-5열)
-            return row >= 7 && row <= 9 && col >= 3 && col <= 5;
-        }
+    /**
+     * 둘 차례인 sideToMove 쪽에서 본 장군/외통/빅장 상태. 왕이 이미 잡혔으면 NONE
+     */
+    public Game.CheckStatus getCheckStatus(GameBoard board, Piece.PieceColor sideToMove) {
+        return getCheckStatus(board.getPosition(), PieceCodes.color(sideToMove), new int[MoveGenerator.MAX_MOVES]);
     }
     
-    private boolean isPathClear(GameBoard board, int fromRow, int fromCol, int toRow, int toCol) {
-        int rowStep = Integer.compare(toRow, fromRow);
-        int colStep = Integer.compare(toCol, fromCol);
-        
-        int currentRow = fromRow + rowStep;
-        int currentCol = fromCol + colStep;
-        
-        while (currentRow != toRow || currentCol != toCol) {
-            if (board.getPiece(currentRow, currentCol) != null) {
-                return false;
-            }
-            currentRow += rowStep;
-            currentCol += colStep;
+    /**
+     * 엔진 보드 기준 장군/외통/빅장 상태. moves는 작업용 버퍼 (기록 검증이 게임마다 재사용)
+     */
+    public Game.CheckStatus getCheckStatus(Position position, int color, int[] moves) {
+        if (position.kingSquare(color) < 0 || position.kingSquare(PieceCodes.opponent(color)) < 0) {
+            return Game.CheckStatus.NONE;
         }
-        
-        return true;
+        return CHECK_STATUSES[Rules.status(position, color, moves)];
     }
     
-    private boolean isPathClearWithOneJump(GameBoard board, int fromRow, int fromCol, int toRow, int toCol) {
-        int rowStep = Integer.compare(toRow, fromRow);
-        int colStep = Integer.compare(toCol, fromCol);
-        
-        int currentRow = fromRow + rowStep;
-        int currentCol = fromCol + colStep;
-        boolean foundJump = false;
-        
-        while (currentRow != toRow || currentCol != toCol) {
-            Piece piece = board.getPiece(currentRow, currentCol);
-            if (piece != null) {
-                if (foundJump) {
-                    return false; // 두 번째 말을 만남
-                }
-                foundJump = true;
-            }
-            currentRow += rowStep;
-            currentCol += colStep;
+    public List<int[]> getValidMoves(GameBoard board, int row, int col) {
+        List<int[]> validMoves = new ArrayList<>();
+        if (!Position.isValidPosition(row, col)) {
+            return validMoves;
         }
         
-        return foundJump; // 정확히 하나의 말을 넘어야 함
-    }
-    
-    public boolean isGameOver(GameBoard board, Piece.PieceColor lastMoveColor) {
-        // 왕이 잡혔는지 확인
-        boolean redKingExists = false;
-        boolean blueKingExists = false;
-        
-        for (int i = 0; i < GameBoard.BOARD_ROWS; i++) {
-            for (int j = 0; j < GameBoard.BOARD_COLS; j++) {
-                Piece piece = board.getPiece(i, j);
-                if (piece != null && piece.getType() == Piece.PieceType.KING) {
-                    if (piece.getColor() == Piece.PieceColor.RED) {
-                        redKingExists = true;
-                    } else {
-                        blueKingExists = true;
-                    }
-                }
-            }
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = Rules.generateLegalFrom(board.getPosition(), Position.square(row, col), moves);
+        for (int i = 0; i < count; i++) {
+            int to = MoveGenerator.to(moves[i]);
+            validMoves.add(new int[]{Position.row(to), Position.col(to)});
         }
         
-        return !redKingExists || !blueKingExists;
+        return validMoves;
     }
     
-    public List<int[]> getValidMoves(GameBoard board, int row, int col) {
-        List<int[]> validMoves = new ArrayList<>();
-        Piece piece = board.getPiece(row, col);
+    /**
+     * 한 쪽의 모든 이동 가능한 수를 출발 칸("row,col") 기준으로 묶어 돌려준다.
+     */
+    public Map<String, List<int[]>> getAllValidMoves(GameBoard board, Piece.PieceColor playerColor) {
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = Rules.generateLegal(board.getPosition(), PieceCodes.color(playerColor), moves);
         
-        if (piece == null) {
-            return validMoves;
-        }
-        
-        for (int i = 0; i < GameBoard.BOARD_ROWS; i++) {
-            for (int j = 0; j < GameBoard.BOARD_COLS; j++) {
-                if (isValidMove(board, row, col, i, j, piece.getColor())) {
-                    validMoves.add(new int[]{i, j});
-                }
-            }
+        Map<String, List<int[]>> validMoves = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            int from = MoveGenerator.from(moves[i]);
+            int to = MoveGenerator.to(moves[i]);
+            validMoves.computeIfAbsent(Position.row(from) + "," + Position.col(from), key -> new ArrayList<>())
+                    .add(new int[]{Position.row(to), Position.col(to)});
         }
         
         return validMoves;
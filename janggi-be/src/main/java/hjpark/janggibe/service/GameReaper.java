@@ -0,0 +1,111 @@
+package hjpark.janggibe.service;
+
+import hjpark.janggibe.model.Game;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 플레이어가 사라져 오래 움직임이 없는 대기/진행 중 게임을 ABANDONED로 정리한다.
+ * <p>
+ * 주기마다 상태별로 (game_status, updated_at) 인덱스를 따라 오래된 것부터 batch-size개씩 UPDATE 한 번으로 바꾼다.
+ * 묶음마다 트랜잭션을 따로 쓰고 묶음 사이에 batch-pause만큼 쉬며, 한 번에 max-batches 묶음까지만 처리해서
+ * 한꺼번에 많이 쌓여 있어도 DB에 부하가 몰리지 않게 한다. 남은 것은 다음 주기에 이어서 처리한다.
+ */
+@Component
+@ConditionalOnProperty(name = "janggi.reaper.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class GameReaper {
+
+    private final GameService gameService;
+    private final Duration waitingIdle;
+    private final Duration inProgressIdle;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration batchPause;
+
+    private final AtomicLong reapedWaiting = new AtomicLong();
+    private final AtomicLong reapedInProgress = new AtomicLong();
+    private volatile long lastRunMillis;
+
+    public GameReaper(GameService gameService,
+                      @Value("${janggi.reaper.waiting-idle:30m}") Duration waitingIdle,
+                      @Value("${janggi.reaper.in-progress-idle:1h}") Duration inProgressIdle,
+                      @Value("${janggi.reaper.batch-size:500}") int batchSize,
+                      @Value("${janggi.reaper.max-batches:20}") int maxBatches,
+                      @Value("${janggi.reaper.batch-pause:100ms}") Duration batchPause) {
+        this.gameService = gameService;
+        this.waitingIdle = waitingIdle;
+        this.inProgressIdle = inProgressIdle;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.batchPause = batchPause;
+        log.info("게임 정리 설정: waitingIdle={}, inProgressIdle={}, batchSize={}, maxBatches={}, batchPause={}",
+                waitingIdle, inProgressIdle, batchSize, maxBatches, batchPause);
+    }
+
+    @Scheduled(initialDelayString = "${janggi.reaper.initial-delay:1m}", fixedDelayString = "${janggi.reaper.interval:1m}")
+    public void reap() {
+        long start = System.nanoTime();
+        try {
+            int waiting = reap(Game.GameStatus.WAITING, waitingIdle);
+            int inProgress = reap(Game.GameStatus.IN_PROGRESS, inProgressIdle);
+            reapedWaiting.addAndGet(waiting);
+            reapedInProgress.addAndGet(inProgress);
+            lastRunMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (waiting + inProgress > 0) {
+                log.info("게임 정리: waiting={}, inProgress={}, {}ms", waiting, inProgress, lastRunMillis);
+            } else {
+                log.debug("게임 정리: 대상 없음, {}ms", lastRunMillis);
+            }
+        } catch (RuntimeException e) {
+            // 다음 주기에 다시 시도
+            log.warn("게임 정리 실패", e);
+        }
+    }
+
+    public long getReapedWaiting() {
+        return reapedWaiting.get();
+    }
+
+    public long getReapedInProgress() {
+        return reapedInProgress.get();
+    }
+
+    public long getLastRunMillis() {
+        return lastRunMillis;
+    }
+
+    private int reap(Game.GameStatus status, Duration idle) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(idle);
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            long start = System.nanoTime();
+            int reaped = gameService.abandonIdleGames(status, cutoff, batchSize);
+            total += reaped;
+            log.debug("게임 정리 묶음: status={}, reaped={}, {}ms", status, reaped,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            if (reaped < batchSize) {
+                break;
+            }
+            pause();
+        }
+        return total;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(batchPause.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("게임 정리가 중단되었습니다.", e);
+        }
+    }
+}
@@ -2,13 +2,17 @@ package hjpark.janggibe.service;
 
 import hjpark.janggibe.model.*;
 import hjpark.janggibe.repository.GameRepository;
-import hjpark.janggibe.repository.MoveRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -18,8 +22,12 @@ import java.util.Optional;
 public class GameService {
     
     private final GameRepository gameRepository;
-    private final MoveRepository moveRepository;
     private final GameLogicService gameLogicService;
+    private final MoveLogService moveLogService;
+    private final GameStateCache gameStateCache;
+    private final GameClockService gameClockService;
+    private final MoveMetrics moveMetrics;
+    private final ApplicationEventPublisher eventPublisher;
     
     public Game createGame(String playerName, String roomTitle) {
         Game game = Game.builder()
@@ -33,8 +41,16 @@ public class GameService {
         GameBoard initialBoard = new GameBoard();
         initialBoard.initializeBoard(); // 수동으로 초기화 호출
         game.setBoardState(gameLogicService.serializeBoard(initialBoard));
+        game.setPositionKey(initialBoard.getPositionKey());
         
-        return gameRepository.save(game);
+        Game savedGame = gameRepository.save(game);
+        eventPublisher.publishEvent(GameEvent.builder()
+                .type(GameEvent.Type.CREATED)
+                .gameId(savedGame.getId())
+                .gameStatus(savedGame.getGameStatus())
+                .redPlayerName(savedGame.getRedPlayerName())
+                .build());
+        return savedGame;
     }
     
     public Game joinGame(Long gameId, String playerName) {
@@ -69,12 +85,66 @@ public class GameService {
             game.setBoardState(gameLogicService.serializeBoard(initialBoard));
         }
         
-        return gameRepository.save(game);
+        Game savedGame = gameRepository.save(game);
+        
+        // 진행 중 게임은 메모리에 올려 두고 이후 이동은 캐시에서 처리 (재참가면 이어서 둔 보드로 복원)
+        LiveGame liveGame = toLiveGame(savedGame);
+        gameStateCache.put(liveGame);
+        gameStateCache.evictOnRollback(gameId);
+        gameClockService.start(gameId, savedGame.getCurrentTurn(), savedGame.getMoveCount());
+        liveGame.getGame().setClock(gameClockService.view(gameId));
+        
+        eventPublisher.publishEvent(GameEvent.builder()
+                .type(GameEvent.Type.JOINED)
+                .gameId(gameId)
+                .currentTurn(savedGame.getCurrentTurn())
+                .gameStatus(savedGame.getGameStatus())
+                .redPlayerName(savedGame.getRedPlayerName())
+                .bluePlayerName(savedGame.getBluePlayerName())
+                .build());
+        
+        return liveGame.getGame();
+    }
+    
+    /**
+     * 매칭된 두 플레이어로 바로 진행 중인 게임을 만든다. (대기방을 거치지 않으므로 참가 경쟁이 없음)
+     */
+    public Game createMatchedGame(String redPlayerName, String bluePlayerName) {
+        GameBoard initialBoard = new GameBoard();
+        initialBoard.initializeBoard();
+        Game game = Game.builder()
+                .roomTitle(redPlayerName + " vs " + bluePlayerName)
+                .redPlayerName(redPlayerName)
+                .bluePlayerName(bluePlayerName)
+                .currentTurn(Piece.PieceColor.RED)
+                .gameStatus(Game.GameStatus.IN_PROGRESS)
+                .boardState(gameLogicService.serializeBoard(initialBoard))
+                .build();
+        
+        Game savedGame = gameRepository.save(game);
+        LiveGame liveGame = toLiveGame(savedGame);
+        gameStateCache.put(liveGame);
+        gameStateCache.evictOnRollback(savedGame.getId());
+        gameClockService.start(savedGame.getId(), savedGame.getCurrentTurn(), savedGame.getMoveCount());
+        liveGame.getGame().setClock(gameClockService.view(savedGame.getId()));
+        
+        eventPublisher.publishEvent(GameEvent.builder()
+                .type(GameEvent.Type.MATCHED)
+                .gameId(savedGame.getId())
+                .currentTurn(savedGame.getCurrentTurn())
+                .gameStatus(savedGame.getGameStatus())
+                .redPlayerName(redPlayerName)
+                .bluePlayerName(bluePlayerName)
+                .build());
+        
+        return liveGame.getGame();
     }
     
     public Game makeMove(Long gameId, String playerName, int fromRow, int fromCol, int toRow, int toCol) {
-        Game game = gameRepository.findById(gameId)
-                .orElseThrow(() -> new RuntimeException("게임을 찾을 수 없습니다."));
+        MoveMetrics.Sample timing = moveMetrics.start();
+        LiveGame liveGame = loadLiveGame(gameId);
+        Game game = liveGame.getGame();
+        timing.lap(MoveMetrics.Phase.LOAD);
         
         if (game.getGameStatus() != Game.GameStatus.IN_PROGRESS) {
             throw new RuntimeException("진행 중인 게임이 아닙니다.");
@@ -86,21 +156,31 @@ public class GameService {
             throw new RuntimeException("당신의 턴이 아닙니다.");
         }
         
-        // 보드 상태 복원
-        GameBoard board = gameLogicService.deserializeBoard(game.getBoardState());
+        // 시간이 이미 다 됐으면 수를 받지 않고 시간패로 끝냄 (만료 처리가 아직 레인에 도착하지 않은 경우)
+        if (gameClockService.isFlagged(gameId)) {
+            timing.end();
+            return finishOnTime(liveGame);
+        }
+        
+        // 메모리에 있는 보드 사용 (캐시 미스일 때만 역직렬화)
+        GameBoard board = liveGame.getBoard();
         
         // 이동 유효성 검사
         if (!gameLogicService.isValidMove(board, fromRow, fromCol, toRow, toCol, playerColor)) {
             throw new RuntimeException("유효하지 않은 이동입니다.");
         }
+        timing.lap(MoveMetrics.Phase.VALIDATE);
         
         // 이동 실행
         Piece piece = board.getPiece(fromRow, fromCol);
         Piece capturedPiece = board.getPiece(toRow, toCol);
         
+        // 이후 저장이 실패하면 메모리 상태를 버리고 DB에서 다시 읽게 함
+        gameStateCache.evictOnRollback(gameId);
         board.movePiece(fromRow, fromCol, toRow, toCol);
         
         // 이동 기록 저장
+        int moveNumber = game.getMoveCount() + 1;
         Move move = Move.builder()
                 .gameId(gameId)
                 .playerName(playerName)
@@ -111,40 +191,178 @@ public class GameService {
                 .pieceType(piece.getType())
                 .pieceColor(piece.getColor())
                 .capturedPieceType(capturedPiece != null ? capturedPiece.getType().name() : null)
-                .moveNumber(moveRepository.countMovesByGameId(gameId) + 1)
+                .moveNumber(moveNumber)
                 .build();
         
-        moveRepository.save(move);
+        // 왕을 잡았거나, 상대가 외통이거나, 둘 수가 없거나, 빅장을 풀지 않았으면 종료
+        Piece.PieceColor opponentColor = playerColor == Piece.PieceColor.RED ? Piece.PieceColor.BLUE : Piece.PieceColor.RED;
+        boolean kingCaptured = gameLogicService.isGameOver(board, playerColor);
+        Game.CheckStatus checkStatus = kingCaptured ? Game.CheckStatus.NONE
+                : gameLogicService.getCheckStatus(board, opponentColor);
+        boolean bikjangDraw = checkStatus == Game.CheckStatus.BIKJANG && game.getCheckStatus() == Game.CheckStatus.BIKJANG;
+        boolean draw = checkStatus == Game.CheckStatus.STALEMATE || bikjangDraw;
+        boolean gameOver = kingCaptured || checkStatus == Game.CheckStatus.CHECKMATE || draw;
+        timing.lap(MoveMetrics.Phase.EVALUATE);
+        
+        // 보드는 moves 행 추가로만 기록 (주기적으로 스냅샷)
+        moveLogService.append(move, board, gameOver);
+        timing.lap(MoveMetrics.Phase.RECORD);
         
-        // 게임 상태 업데이트
+        // 게임 상태 업데이트 (boardState는 응답용으로 메모리에만 반영)
         game.setBoardState(gameLogicService.serializeBoard(board));
+        timing.lap(MoveMetrics.Phase.SERIALIZE);
+        game.setMoveCount(moveNumber);
         game.setCurrentTurn(game.getCurrentTurn() == Piece.PieceColor.RED ? 
                            Piece.PieceColor.BLUE : Piece.PieceColor.RED);
+        game.setPositionKey(board.getPositionKey());
+        game.setCheckStatus(checkStatus);
         
-        // 게임 종료 조건 확인
-        if (gameLogicService.isGameOver(board, playerColor)) {
-            game.setGameStatus(Game.GameStatus.FINISHED);
-            game.setWinnerName(playerName);
+        // 게임 종료 조건 확인 (무승부는 승자 없음)
+        if (gameOver) {
+            finishGame(liveGame, draw ? null : playerName);
+        } else {
+            gameStateCache.commit(liveGame);
+            gameClockService.press(gameId, playerColor, moveNumber);
+            game.setClock(gameClockService.view(gameId));
+            saveGameState(game);
         }
+        timing.lap(MoveMetrics.Phase.SAVE);
+        
+        // 구독자에게는 보드 전체가 아니라 이동 변경분만 보냄
+        eventPublisher.publishEvent(GameEvent.builder()
+                .type(GameEvent.Type.MOVED)
+                .gameId(gameId)
+                .fromRow(fromRow)
+                .fromCol(fromCol)
+                .toRow(toRow)
+                .toCol(toCol)
+                .pieceType(piece.getType())
+                .pieceColor(piece.getColor())
+                .capturedPieceType(capturedPiece != null ? capturedPiece.getType() : null)
+                .moveNumber(moveNumber)
+                .checkStatus(checkStatus)
+                .currentTurn(game.getCurrentTurn())
+                .gameStatus(game.getGameStatus())
+                .winnerName(game.getWinnerName())
+                .clock(game.getClock())
+                .build());
         
-        return gameRepository.save(game);
+        timing.end();
+        return game;
     }
     
+    /**
+     * 타이머가 만료됐을 때 게임 레인에서 불린다. 둘 차례인 쪽의 시간이 정말 다 됐으면 시간패로 끝내고,
+     * 그 사이 수가 두어졌거나 게임이 끝났으면 아무것도 하지 않는다.
+     */
+    public void timeout(Long gameId, int moveCount) {
+        LiveGame liveGame = loadLiveGame(gameId);
+        Game game = liveGame.getGame();
+        if (game.getGameStatus() != Game.GameStatus.IN_PROGRESS || game.getMoveCount() != moveCount
+                || !gameClockService.isFlagged(gameId)) {
+            return;
+        }
+        finishOnTime(liveGame);
+    }
+    
+    /**
+     * 게임 조회. 캐시 미스 때 게임을 캐시에 올리므로 게임 레인에서 부른다.
+     */
     public Game getGame(Long gameId) {
-        return gameRepository.findById(gameId)
-                .orElseThrow(() -> new RuntimeException("게임을 찾을 수 없습니다."));
+        LiveGame liveGame = loadLiveGame(gameId);
+        
+        // 캐시된 게임은 레인이 계속 바꾸므로 응답(직렬화)에는 분리된 사본을 씀
+        Game game = liveGame.getGame().toBuilder().build();
+        if (game.getGameStatus() == Game.GameStatus.IN_PROGRESS) {
+            game.setClock(gameClockService.view(gameId));
+        }
+        return game;
     }
     
-    public List<Game> getWaitingGames() {
-        return gameRepository.findWaitingGames();
+    /**
+     * status 상태로 cutoff 전부터 움직임이 없는 게임을 오래된 순으로 최대 limit개 ABANDONED로 바꾼다. (GameReaper가 호출)
+     * 엔티티를 하나씩 저장하지 않고 UPDATE 한 번으로 바꾸며, 바뀐 게임은 메모리(캐시, 시계)에서 내린다.
+     *
+     * @return ABANDONED로 바뀐 게임 수. 0이면 더 정리할 게임이 없음
+     */
+    public int abandonIdleGames(Game.GameStatus status, LocalDateTime cutoff, int limit) {
+        List<Long> ids = gameRepository.findIdleGameIds(status, cutoff, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        int updated = gameRepository.abandonIdleGames(ids, status, cutoff, LocalDateTime.now());
+        if (updated != ids.size()) {
+            // 고른 뒤 움직인 게임은 빠졌으므로 실제로 바뀐 것만 다시 읽음
+            ids = gameRepository.findIdsWithStatus(ids, Game.GameStatus.ABANDONED);
+        }
+        
+        for (Long gameId : ids) {
+            gameStateCache.evict(gameId);
+            gameClockService.stop(gameId);
+            if (status == Game.GameStatus.IN_PROGRESS) {
+                eventPublisher.publishEvent(GameEvent.builder()
+                        .type(GameEvent.Type.ABANDONED)
+                        .gameId(gameId)
+                        .gameStatus(Game.GameStatus.ABANDONED)
+                        .build());
+            }
+        }
+        if (status == Game.GameStatus.WAITING && updated > 0) {
+            // 대기방은 묶음마다 로비에 한 번만 알림
+            eventPublisher.publishEvent(GameEvent.builder()
+                    .type(GameEvent.Type.ABANDONED)
+                    .gameStatus(Game.GameStatus.ABANDONED)
+                    .build());
+        }
+        return updated;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<GameSummary> getWaitingGames() {
+        return gameRepository.findWaitingGameSummaries();
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<GameSummary> getActiveGameByPlayerName(String playerName) {
+        // 여러 개면 가장 최근에 움직인 게임
+        return getActiveGamesByPlayerName(playerName).stream()
+                .max(Comparator.comparing(GameSummary::getUpdatedAt, Comparator.nullsFirst(Comparator.naturalOrder())));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<GameSummary> getActiveGamesByPlayerName(String playerName) {
+        return gameRepository.findActiveGameSummariesByPlayerName(playerName);
     }
     
-    public Optional<Game> getActiveGameByPlayerName(String playerName) {
-        return gameRepository.findActiveGameByPlayerName(playerName);
+    /**
+     * 둘 차례인 쪽의 합법 수. 합법 판정은 보드에 수를 두었다 무르므로 캐시된 보드가 아닌 사본 위에서 한다.
+     */
+    public Map<String, List<int[]>> getValidMoves(Long gameId) {
+        LiveGame liveGame = loadLiveGame(gameId);
+        return gameLogicService.getAllValidMoves(liveGame.getBoard().copy(), liveGame.getGame().getCurrentTurn());
+    }
+    
+    /**
+     * 진행 중인 게임에서 playerName이 둘 차례면 보드 사본을 돌려준다. (AI가 사본 위에서 탐색)
+     */
+    public Optional<GameBoard> copyBoardIfTurn(Long gameId, String playerName) {
+        LiveGame liveGame = loadLiveGame(gameId);
+        Game game = liveGame.getGame();
+        if (game.getGameStatus() != Game.GameStatus.IN_PROGRESS) {
+            return Optional.empty();
+        }
+        String turnPlayer = game.getCurrentTurn() == Piece.PieceColor.RED ? game.getRedPlayerName() : game.getBluePlayerName();
+        if (!playerName.equals(turnPlayer)) {
+            return Optional.empty();
+        }
+        GameBoard board = liveGame.getBoard().copy();
+        board.setSideToMove(game.getCurrentTurn());
+        return Optional.of(board);
     }
     
     public List<Move> getGameHistory(Long gameId) {
-        return moveRepository.findByGameIdOrderByMoveNumberAsc(gameId);
+        return moveLogService.history(gameId);
     }
     
     public void leaveGame(Long gameId, String playerName) {
@@ -159,6 +377,9 @@ public class GameService {
             throw new RuntimeException("이 게임의 플레이어가 아닙니다.");
         }
         
+        // 메모리 상태는 DB에 반영된 뒤에만 내림 (롤백되면 시계와 캐시를 그대로 둠)
+        gameStateCache.evictAfterCommit(gameId);
+        
         if (isRedPlayer) {
             // 호스트가 나가는 경우
             if (game.getBluePlayerName() != null) {
@@ -168,15 +389,111 @@ public class GameService {
             } else {
                 // 혼자만 있으면 게임 삭제
                 gameRepository.delete(game);
+                gameClockService.stopAfterCommit(gameId);
+                eventPublisher.publishEvent(GameEvent.builder()
+                        .type(GameEvent.Type.DELETED)
+                        .gameId(gameId)
+                        .build());
                 return;
             }
         } else if (isBluePlayer) {
             // 두 번째 플레이어가 나가는 경우
             game.setBluePlayerName(null);
             game.setGameStatus(Game.GameStatus.WAITING);
+            gameClockService.stopAfterCommit(gameId);
         }
         
-        gameRepository.save(game);
+        Game savedGame = gameRepository.save(game);
+        eventPublisher.publishEvent(GameEvent.builder()
+                .type(GameEvent.Type.LEFT)
+                .gameId(gameId)
+                .currentTurn(savedGame.getCurrentTurn())
+                .gameStatus(savedGame.getGameStatus())
+                .redPlayerName(savedGame.getRedPlayerName())
+                .bluePlayerName(savedGame.getBluePlayerName())
+                .build());
+    }
+    
+    /**
+     * 캐시에 있으면 그대로 쓰고, 없으면 DB에서 읽어 보드를 복원한다. 진행 중인 게임만 캐시에 올린다.
+     * 돌려주는 LiveGame은 레인이 바꾸는 사본이므로 게임 레인에서만 부른다.
+     */
+    private LiveGame loadLiveGame(Long gameId) {
+        LiveGame liveGame = gameStateCache.get(gameId);
+        if (liveGame != null) {
+            return liveGame;
+        }
+        
+        Game game = gameRepository.findById(gameId)
+                .orElseThrow(() -> new RuntimeException("게임을 찾을 수 없습니다."));
+        liveGame = toLiveGame(game);
+        if (game.getGameStatus() == Game.GameStatus.IN_PROGRESS) {
+            gameClockService.resume(gameId, game.getCurrentTurn(), game.getMoveCount());
+            return gameStateCache.attach(liveGame);
+        }
+        return liveGame;
+    }
+    
+    /**
+     * 둘 차례인 쪽의 시간패로 끝낸다.
+     */
+    private Game finishOnTime(LiveGame liveGame) {
+        Game game = liveGame.getGame();
+        String winnerName = game.getCurrentTurn() == Piece.PieceColor.RED ? game.getBluePlayerName() : game.getRedPlayerName();
+        log.info("시간 초과로 게임 종료: gameId={}, loser={}", game.getId(), game.getCurrentTurn());
+        finishGame(liveGame, winnerName);
+        
+        eventPublisher.publishEvent(GameEvent.builder()
+                .type(GameEvent.Type.TIMEOUT)
+                .gameId(game.getId())
+                .moveNumber(game.getMoveCount())
+                .currentTurn(game.getCurrentTurn())
+                .gameStatus(game.getGameStatus())
+                .winnerName(game.getWinnerName())
+                .build());
+        return game;
+    }
+    
+    /**
+     * 게임을 끝내고 메모리(캐시, 시계)에서 내린다. 수로 끝나든 시간으로 끝나든 이 경로를 지난다.
+     */
+    private void finishGame(LiveGame liveGame, String winnerName) {
+        Game game = liveGame.getGame();
+        game.setGameStatus(Game.GameStatus.FINISHED);
+        game.setWinnerName(winnerName);
+        game.setClock(null);
+        gameStateCache.evict(game.getId());
+        gameClockService.stop(game.getId());
+        saveGameState(game);
+    }
+    
+    private void saveGameState(Game game) {
+        game.setUpdatedAt(LocalDateTime.now());
+        int updated = gameRepository.updateGameState(game.getId(), game.getMoveCount(), game.getCurrentTurn(),
+                game.getGameStatus(), game.getWinnerName(), game.getUpdatedAt());
+        if (updated == 0) {
+            // 메모리에 남아 있던 사이 GameReaper가 정리한 게임
+            gameStateCache.evict(game.getId());
+            gameClockService.stop(game.getId());
+            throw new RuntimeException("오래 움직임이 없어 종료된 게임입니다.");
+        }
+    }
+    
+    /**
+     * 스냅샷과 이동 기록으로 보드를 복원해 LiveGame으로 만든다. 응답용 boardState는 분리된 사본에만 채운다.
+     */
+    private LiveGame toLiveGame(Game game) {
+        long restoreStarted = System.nanoTime();
+        GameBoard board = moveLogService.restoreBoard(game);
+        board.setSideToMove(game.getCurrentTurn());
+        LiveGame liveGame = LiveGame.of(game, board);
+        liveGame.getGame().setBoardState(gameLogicService.serializeBoard(board));
+        liveGame.getGame().setPositionKey(board.getPositionKey());
+        if (game.getGameStatus() == Game.GameStatus.IN_PROGRESS) {
+            liveGame.getGame().setCheckStatus(gameLogicService.getCheckStatus(board, game.getCurrentTurn()));
+        }
+        moveMetrics.record(MoveMetrics.Phase.RESTORE, restoreStarted);
+        return liveGame;
     }
     
     private Piece.PieceColor getPlayerColor(Game game, String playerName) {
@@ -0,0 +1,193 @@
+package hjpark.janggibe.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hjpark.janggibe.model.GameBoard;
+import hjpark.janggibe.model.LiveGame;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 진행 중인 게임을 {@link LiveGame}으로 들고 있는 프로세스 내 캐시.
+ * <p>
+ * 크기 상한과 유휴 만료가 있으며, DB는 내구성 있는 기록으로만 쓴다.
+ * 트랜잭션이 롤백되면 해당 게임을 비워서 다음 요청이 DB에서 다시 읽게 한다.
+ * <p>
+ * {@link SharedGameStore}가 있으면(여러 노드 구성) 공유 상태를 기준으로 삼는다. 로컬 사본은 공유 상태와
+ * 바이트 단위로 같을 때만 그대로 쓰고, 다르면 공유 상태로 덮어쓴다. 이동은 비교 후 교체로만 반영한다.
+ */
+@Component
+@Slf4j
+public class GameStateCache {
+
+    private final Cache<Long, LiveGame> cache;
+    private final SharedGameStore sharedGameStore;
+    private final GameLogicService gameLogicService;
+
+    public GameStateCache(@Value("${janggi.cache.maximum-size:10000}") long maximumSize,
+                          @Value("${janggi.cache.idle-timeout:30m}") Duration idleTimeout,
+                          ObjectProvider<SharedGameStore> sharedGameStore,
+                          GameLogicService gameLogicService) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.sharedGameStore = sharedGameStore.getIfAvailable();
+        this.gameLogicService = gameLogicService;
+        log.info("게임 상태 캐시 설정: maximumSize={}, idleTimeout={}, sharedStore={}",
+                maximumSize, idleTimeout, this.sharedGameStore != null);
+    }
+
+    public LiveGame get(Long gameId) {
+        LiveGame liveGame = cache.getIfPresent(gameId);
+        if (sharedGameStore == null || liveGame == null) {
+            return liveGame;
+        }
+
+        byte[] shared = sharedGameStore.get(gameId);
+        if (shared == null) {
+            // 공유 상태가 없으면 로컬 사본도 믿을 수 없으므로 DB에서 다시 읽게 함
+            cache.invalidate(gameId);
+            return null;
+        }
+        if (Arrays.equals(shared, liveGame.getSharedState())) {
+            return liveGame;
+        }
+
+        // 다른 노드가 바꾼 상태. 레인이 쓰고 있을 수 있는 사본은 건드리지 않고 새 사본을 만들어 바꿔 끼움
+        LiveGame refreshed = LiveGame.of(liveGame.getGame(), new GameBoard()); // 보드/차례/상태는 공유 상태로 채움
+        applySharedState(refreshed, shared);
+        if (cache.asMap().replace(gameId, liveGame, refreshed)) {
+            return refreshed;
+        }
+        return cache.getIfPresent(gameId); // 그 사이 다른 요청이 먼저 바꿈
+    }
+
+    /**
+     * DB에서 막 읽은 게임을 올린다. 공유 저장소에 이미 상태가 있으면 그쪽을 따른다.
+     * 그 사이 다른 요청이 먼저 올렸으면(이미 수가 진행됐을 수 있음) 그것을 돌려주고 방금 읽은 것은 버린다.
+     */
+    public LiveGame attach(LiveGame liveGame) {
+        if (sharedGameStore != null) {
+            byte[] encoded = SharedGameStateCodec.encode(liveGame);
+            if (sharedGameStore.putIfAbsent(liveGame.getId(), encoded)) {
+                liveGame.setSharedState(encoded);
+            } else {
+                byte[] shared = sharedGameStore.get(liveGame.getId());
+                if (shared != null) {
+                    applySharedState(liveGame, shared);
+                }
+            }
+        }
+        LiveGame existing = cache.asMap().putIfAbsent(liveGame.getId(), liveGame);
+        return existing != null ? existing : liveGame;
+    }
+
+    /**
+     * 게임을 올리고 공유 상태를 덮어쓴다. (게임 시작처럼 DB 쪽이 기준인 경우)
+     */
+    public void put(LiveGame liveGame) {
+        if (sharedGameStore != null) {
+            byte[] encoded = SharedGameStateCodec.encode(liveGame);
+            sharedGameStore.put(liveGame.getId(), encoded);
+            liveGame.setSharedState(encoded);
+        }
+        cache.put(liveGame.getId(), liveGame);
+    }
+
+    /**
+     * 이동 결과를 반영한다. 공유 저장소가 있으면 읽었던 상태와 같을 때만 교체하고,
+     * 그 사이 다른 노드가 먼저 반영했으면 로컬 사본을 버리고 예외를 던진다.
+     */
+    public void commit(LiveGame liveGame) {
+        if (sharedGameStore == null) {
+            return;
+        }
+
+        Long gameId = liveGame.getId();
+        byte[] encoded = SharedGameStateCodec.encode(liveGame);
+        byte[] expected = liveGame.getSharedState();
+        boolean applied = expected == null
+                ? sharedGameStore.putIfAbsent(gameId, encoded)
+                : sharedGameStore.compareAndSet(gameId, expected, encoded);
+        if (!applied) {
+            cache.invalidate(gameId);
+            throw new RuntimeException("다른 요청이 먼저 처리되었습니다. 다시 시도해 주세요.");
+        }
+        liveGame.setSharedState(encoded);
+
+        // DB 저장이 실패하면 방금 쓴 공유 상태를 되돌려 다음 요청이 DB에서 다시 읽게 함
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        sharedGameStore.compareAndDelete(gameId, encoded);
+                    }
+                }
+            });
+        }
+    }
+
+    public void evict(Long gameId) {
+        cache.invalidate(gameId);
+        if (sharedGameStore != null) {
+            sharedGameStore.remove(gameId);
+        }
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 게임을 내린다. (트랜잭션 밖이면 바로)
+     */
+    public void evictAfterCommit(Long gameId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(gameId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(gameId);
+            }
+        });
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되지 않으면 게임을 로컬 캐시에서 뺀다.
+     */
+    public void evictOnRollback(Long gameId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    cache.invalidate(gameId);
+                }
+            }
+        });
+    }
+
+    /**
+     * 공유 상태를 liveGame에 덮어쓴다. 다른 스레드가 볼 수 없는(아직 캐시에 없는) 사본에만 쓴다.
+     */
+    private void applySharedState(LiveGame liveGame, byte[] shared) {
+        SharedGameStateCodec.decodeInto(shared, liveGame);
+        liveGame.getGame().setBoardState(gameLogicService.serializeBoard(liveGame.getBoard()));
+        liveGame.getGame().setPositionKey(liveGame.getBoard().getPositionKey());
+        liveGame.getGame().setCheckStatus(gameLogicService.getCheckStatus(liveGame.getBoard(), liveGame.getGame().getCurrentTurn()));
+        liveGame.setSharedState(shared);
+    }
+}
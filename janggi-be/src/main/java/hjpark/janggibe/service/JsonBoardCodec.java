@@ -0,0 +1,47 @@
+package hjpark.janggibe.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hjpark.janggibe.model.GameBoard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기존 Jackson JSON 형식. ({"board":[[...]],"capturedPieces":[...]})
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class JsonBoardCodec implements BoardCodec {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String name() {
+        return "json";
+    }
+
+    @Override
+    public boolean canDecode(String boardState) {
+        return boardState.startsWith("{");
+    }
+
+    @Override
+    public String encode(GameBoard board) {
+        try {
+            return objectMapper.writeValueAsString(board);
+        } catch (JsonProcessingException e) {
+            log.error("보드 직렬화 실패", e);
+            throw new RuntimeException("보드 상태 저장 실패");
+        }
+    }
+
+    @Override
+    public GameBoard decode(String boardState) {
+        try {
+            return objectMapper.readValue(boardState, GameBoard.class);
+        } catch (JsonProcessingException e) {
+            log.error("보드 역직렬화 실패", e);
+            throw new RuntimeException("보드 상태 복원 실패");
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package hjpark.janggibe.service;
+
+import hjpark.janggibe.model.Game;
+import hjpark.janggibe.model.MatchResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 대기방 목록 대신 쓰는 프로세스 내 매칭 대기열.
+ * <p>
+ * 레이팅 구간(bucket-width 단위, 레이팅이 없으면 별도 구간)마다 대기 자리 하나를 {@link AtomicReference}로 둔다.
+ * 들어온 요청은 자리가 비어 있으면 CAS로 앉아 기다리고, 누가 앉아 있으면 CAS로 비우면서 그 사람과 짝이 된다.
+ * 락 없이 O(1)이고, 한 사람은 정확히 한 번만 짝지어진다. 먼저 기다린 쪽이 한나라(선)를 잡는다.
+ * <p>
+ * 대기 중인 쪽은 ticket-timeout 안에 같은 요청을 다시 보내 자리를 유지한다. 시간이 지난 자리는 다음 요청이 치운다.
+ * 대기열은 노드마다 따로 있으므로 여러 노드 구성에서는 같은 노드로 온 요청끼리만 짝지어진다.
+ */
+@Service
+@Slf4j
+public class MatchmakingService {
+
+    private static final int UNRATED = Integer.MIN_VALUE;
+
+    private final GameService gameService;
+    private final int bucketWidth;
+    private final long ticketTimeoutNanos;
+    private final ConcurrentHashMap<Integer, AtomicReference<Ticket>> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Ticket> waiting = new ConcurrentHashMap<>();
+
+    public MatchmakingService(GameService gameService,
+                              @Value("${janggi.matchmaking.bucket-width:200}") int bucketWidth,
+                              @Value("${janggi.matchmaking.ticket-timeout:60s}") Duration ticketTimeout) {
+        this.gameService = gameService;
+        this.bucketWidth = bucketWidth;
+        this.ticketTimeoutNanos = ticketTimeout.toNanos();
+        log.info("매칭 설정: bucketWidth={}, ticketTimeout={}", bucketWidth, ticketTimeout);
+    }
+
+    /**
+     * 대기열에 넣는다. 기다리던 상대가 있으면 바로 게임을 만들고, 없으면 WAITING을 돌려준다.
+     * 이미 기다리는 중이면 자리만 유지한다.
+     */
+    public MatchResult enqueue(String playerName, Integer rating) {
+        if (playerName == null || playerName.isBlank()) {
+            throw new RuntimeException("플레이어 이름이 필요합니다.");
+        }
+
+        Ticket existing = waiting.get(playerName);
+        if (existing != null) {
+            existing.touch();
+            return MatchResult.waiting();
+        }
+
+        Ticket ticket = new Ticket(playerName, bucketOf(rating));
+        if (waiting.putIfAbsent(playerName, ticket) != null) {
+            return MatchResult.waiting();
+        }
+
+        AtomicReference<Ticket> slot = buckets.computeIfAbsent(ticket.bucket, bucket -> new AtomicReference<>());
+        while (true) {
+            Ticket opponent = slot.get();
+            if (opponent == null) {
+                if (slot.compareAndSet(null, ticket)) {
+                    leaveIfCancelled(ticket, slot);
+                    return MatchResult.waiting();
+                }
+            } else if (slot.compareAndSet(opponent, null)) {
+                // waiting에서 뺀 쪽만 짝지을 수 있음. 이미 빠져 있으면 취소된 자리
+                boolean active = waiting.remove(opponent.playerName, opponent);
+                if (!active || opponent.isExpired(ticketTimeoutNanos)) {
+                    log.debug("취소/만료된 매칭 대기 제거: {}", opponent.playerName);
+                    continue;
+                }
+                if (!waiting.remove(playerName, ticket)) {
+                    // 그 사이 이 요청이 취소됨
+                    requeue(opponent, slot);
+                    return MatchResult.waiting();
+                }
+
+                Game game;
+                try {
+                    game = gameService.createMatchedGame(opponent.playerName, playerName);
+                } catch (RuntimeException e) {
+                    requeue(opponent, slot);
+                    throw e;
+                }
+                log.info("매칭 완료: gameId={}, {} vs {}", game.getId(), opponent.playerName, playerName);
+                return MatchResult.matched(game);
+            }
+        }
+    }
+
+    /**
+     * 대기열에서 뺀다. 그 사이 이미 짝지어졌으면 false.
+     * waiting에서 빠진 자리는 짝지어지지 않으므로, 자리(slot)는 여기서 못 비워도 enqueue 쪽이 치운다.
+     */
+    public boolean cancel(String playerName) {
+        Ticket ticket = waiting.remove(playerName);
+        if (ticket == null) {
+            return false;
+        }
+        AtomicReference<Ticket> slot = buckets.get(ticket.bucket);
+        if (slot != null) {
+            slot.compareAndSet(ticket, null);
+        }
+        return true;
+    }
+
+    public int waitingCount() {
+        return waiting.size();
+    }
+
+    /**
+     * 자리에 앉는 사이 취소됐으면(cancel이 아직 앉지 않은 자리를 비우지 못함) 스스로 비운다.
+     */
+    private void leaveIfCancelled(Ticket ticket, AtomicReference<Ticket> slot) {
+        if (waiting.get(ticket.playerName) != ticket) {
+            slot.compareAndSet(ticket, null);
+        }
+    }
+
+    /**
+     * 짝을 짓지 못한 상대(게임 생성 실패, 이쪽 취소)를 대기열에 돌려놓는다.
+     * 자리를 이미 다른 사람이 차지했으면 대기 표시를 지워서 상대의 다음 유지 요청이 새로 들어오게 한다.
+     */
+    private void requeue(Ticket ticket, AtomicReference<Ticket> slot) {
+        if (waiting.putIfAbsent(ticket.playerName, ticket) != null) {
+            return; // 그 사이 새로 들어옴
+        }
+        if (slot.compareAndSet(null, ticket)) {
+            leaveIfCancelled(ticket, slot);
+        } else {
+            waiting.remove(ticket.playerName, ticket);
+        }
+    }
+
+    private int bucketOf(Integer rating) {
+        return rating == null ? UNRATED : Math.floorDiv(rating, bucketWidth);
+    }
+
+    private static final class Ticket {
+        private final String playerName;
+        private final int bucket;
+        private volatile long lastSeen = System.nanoTime();
+
+        Ticket(String playerName, int bucket) {
+            this.playerName = playerName;
+            this.bucket = bucket;
+        }
+
+        void touch() {
+            lastSeen = System.nanoTime();
+        }
+
+        boolean isExpired(long timeoutNanos) {
+            return System.nanoTime() - lastSeen > timeoutNanos;
+        }
+    }
+}
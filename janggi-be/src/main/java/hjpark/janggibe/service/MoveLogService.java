@@ -0,0 +1,119 @@
+package hjpark.janggibe.service;
+
+import hjpark.janggibe.model.BoardSnapshot;
+import hjpark.janggibe.model.Game;
+import hjpark.janggibe.model.GameBoard;
+import hjpark.janggibe.model.Move;
+import hjpark.janggibe.model.Piece;
+import hjpark.janggibe.repository.BoardSnapshotRepository;
+import hjpark.janggibe.repository.MoveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 보드를 moves 테이블(추가만 함)과 주기적인 스냅샷으로 관리한다.
+ * <p>
+ * 이동은 moves 한 행 추가이고, snapshotInterval 수마다 압축 스냅샷을 하나 더 남긴다.
+ * 보드는 가장 최근 스냅샷에서 그 뒤의 이동을 재생해서 복원한다.
+ * 스냅샷이 없는 게임(이 방식 이전에 만들어진 게임)은 games.board_state를 현재 보드로 본다.
+ */
+@Service
+@Slf4j
+@Transactional
+public class MoveLogService {
+    
+    private final MoveRepository moveRepository;
+    private final BoardSnapshotRepository boardSnapshotRepository;
+    private final GameLogicService gameLogicService;
+    private final MoveWriteBehind moveWriteBehind;
+    private final int snapshotInterval;
+    
+    public MoveLogService(MoveRepository moveRepository,
+                          BoardSnapshotRepository boardSnapshotRepository,
+                          GameLogicService gameLogicService,
+                          MoveWriteBehind moveWriteBehind,
+                          @Value("${janggi.snapshot.interval:20}") int snapshotInterval) {
+        this.moveRepository = moveRepository;
+        this.boardSnapshotRepository = boardSnapshotRepository;
+        this.gameLogicService = gameLogicService;
+        this.moveWriteBehind = moveWriteBehind;
+        this.snapshotInterval = snapshotInterval;
+    }
+    
+    /**
+     * 이동 한 건을 기록한다. 이동은 이미 board에 반영되어 있어야 한다.
+     * 게임이 끝나는 수면 마지막 보드도 스냅샷으로 남겨서 종료된 게임은 재생 없이 읽히게 한다.
+     * 쓰기 지연을 켜면 moves 행은 커밋 뒤 {@link MoveWriteBehind}가 모아서 쓰고, 스냅샷은 지금처럼 이 트랜잭션에서 쓴다.
+     */
+    public void append(Move move, GameBoard board, boolean gameOver) {
+        if (moveWriteBehind.isQuarantined(move.getGameId())) {
+            throw new RuntimeException("이동 기록에 문제가 있어 멈춘 게임입니다. 관리자에게 문의해 주세요.");
+        }
+        if (moveWriteBehind.isEnabled()) {
+            moveWriteBehind.appendAfterCommit(move);
+        } else {
+            moveRepository.save(move);
+        }
+        if (gameOver || move.getMoveNumber() % snapshotInterval == 0) {
+            snapshot(move.getGameId(), move.getMoveNumber(), board);
+        }
+    }
+    
+    public void snapshot(Long gameId, int moveNumber, GameBoard board) {
+        boardSnapshotRepository.save(BoardSnapshot.builder()
+                .gameId(gameId)
+                .moveNumber(moveNumber)
+                .board(BoardSnapshotCodec.encode(board))
+                .build());
+    }
+    
+    /**
+     * 게임의 현재 보드를 복원한다.
+     * 스냅샷이 없는 진행 중 게임(막 시작했거나 이전 방식으로 저장된 게임)은 board_state를 기준 스냅샷으로 남긴다.
+     * 이전 방식의 게임은 수 카운터가 비어 있으므로 이때 한 번 moves 개수로 맞춘다.
+     * 아직 쓰지 않은 이동도 함께 재생한다. 비정상 종료로 쓰지 못한 이동이 있으면 남은 마지막 수로 게임을 되돌린다.
+     */
+    public GameBoard restoreBoard(Game game) {
+        Optional<BoardSnapshot> snapshot = boardSnapshotRepository.findTopByGameIdOrderByMoveNumberDesc(game.getId());
+        if (snapshot.isEmpty()) {
+            GameBoard board = gameLogicService.deserializeBoard(game.getBoardState());
+            if (game.getGameStatus() == Game.GameStatus.IN_PROGRESS) {
+                game.setMoveCount(moveRepository.countMovesByGameId(game.getId()) + moveWriteBehind.pending(game.getId()).size());
+                snapshot(game.getId(), game.getMoveCount(), board);
+            }
+            return board;
+        }
+        
+        GameBoard board = BoardSnapshotCodec.decode(snapshot.get().getBoard());
+        int snapshotMove = snapshot.get().getMoveNumber();
+        List<Move> moves = MoveWriteBehind.merge(
+                moveRepository.findByGameIdAndMoveNumberGreaterThanOrderByMoveNumberAsc(game.getId(), snapshotMove),
+                moveWriteBehind.pending(game.getId()).stream().filter(move -> move.getMoveNumber() > snapshotMove).toList());
+        int lastMove = snapshotMove;
+        for (Move move : moves) {
+            board.movePiece(move.getFromRow(), move.getFromCol(), move.getToRow(), move.getToCol());
+            lastMove = move.getMoveNumber();
+        }
+        if (game.getGameStatus() == Game.GameStatus.IN_PROGRESS && lastMove < game.getMoveCount()) {
+            // 쓰기 지연 큐에 있던 이동을 잃은 경우: 보드에 맞춰 수와 차례를 되돌림 (짝수 수면 초 차례)
+            log.warn("저장되지 않은 이동이 있어 되돌립니다: gameId={}, moveCount={} -> {}", game.getId(), game.getMoveCount(), lastMove);
+            game.setMoveCount(lastMove);
+            game.setCurrentTurn(lastMove % 2 == 0 ? Piece.PieceColor.RED : Piece.PieceColor.BLUE);
+        }
+        log.debug("보드 복원: gameId={}, snapshot={}, replayed={}", game.getId(), snapshot.get().getMoveNumber(), moves.size());
+        return board;
+    }
+    
+    /**
+     * 게임의 기보 (아직 쓰지 않은 이동 포함)
+     */
+    @Transactional(readOnly = true)
+    public List<Move> history(Long gameId) {
+        return MoveWriteBehind.merge(moveRepository.findByGameIdOrderByMoveNumberAsc(gameId), moveWriteBehind.pending(gameId));
+    }
+}
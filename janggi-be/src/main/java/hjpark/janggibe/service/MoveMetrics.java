@@ -0,0 +1,126 @@
+package hjpark.janggibe.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이동 처리(GameService.makeMove) 단계별 시간.
+ * <p>
+ * janggi.move.phase{phase=...}: 단계 하나의 시간. 앞 단계가 끝난 시각부터 재므로 단계 합이 메서드 전체 시간이 된다.
+ * janggi.move{outcome=committed|rolled_back}: 시작부터 트랜잭션이 끝날 때까지. 검증 실패로 거부된 수는 rolled_back.
+ * 타이머는 미리 만들어 두고 호출마다 nanoTime 한 번과 기록만 한다.
+ */
+@Component
+public class MoveMetrics {
+
+    public enum Phase {
+        /** 캐시 조회 (캐시 미스면 DB 조회와 보드 복원 포함) */
+        LOAD,
+        /** isValidMove */
+        VALIDATE,
+        /** 보드에 반영하고 isGameOver, 장군/외통 판정 */
+        EVALUATE,
+        /** moves 행(또는 쓰기 지연 큐)과 스냅샷 기록 */
+        RECORD,
+        /** 응답용 serializeBoard */
+        SERIALIZE,
+        /** 캐시 반영, 시계, games 행 UPDATE */
+        SAVE,
+        /** 메서드가 끝난 뒤 트랜잭션 커밋(flush 포함)까지 */
+        COMMIT,
+        /** 캐시 미스 때 스냅샷/board_state 역직렬화와 이동 재생. 이동 외 명령에서도 기록됨 */
+        RESTORE
+    }
+
+    private final Map<Phase, Timer> phases = new EnumMap<>(Phase.class);
+    private final Timer committed;
+    private final Timer rolledBack;
+
+    public MoveMetrics(MeterRegistry registry) {
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, Timer.builder("janggi.move.phase")
+                    .description("이동 처리 단계별 시간")
+                    .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+        this.committed = moveTimer(registry, "committed");
+        this.rolledBack = moveTimer(registry, "rolled_back");
+    }
+
+    /**
+     * 이동 하나의 측정을 시작한다. 트랜잭션 안이면 끝날 때 커밋 시간과 전체 시간을 결과별로 기록한다.
+     * (예외로 빠져나가 롤백돼도 기록되도록 메서드 처음에 부른다)
+     */
+    public Sample start() {
+        Sample sample = new Sample(System.nanoTime());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    long now = System.nanoTime();
+                    if (status == STATUS_COMMITTED) {
+                        if (sample.end != 0) {
+                            phases.get(Phase.COMMIT).record(now - sample.end, TimeUnit.NANOSECONDS);
+                        }
+                        committed.record(now - sample.start, TimeUnit.NANOSECONDS);
+                    } else {
+                        rolledBack.record(now - sample.start, TimeUnit.NANOSECONDS);
+                    }
+                }
+            });
+        }
+        return sample;
+    }
+
+    /**
+     * 이동 밖(캐시 미스 조회)에서 단계 하나만 잴 때
+     */
+    public void record(Phase phase, long since) {
+        phases.get(phase).record(System.nanoTime() - since, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer moveTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("janggi.move")
+                .description("이동 요청부터 트랜잭션 종료까지")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * 이동 하나의 측정. 한 레인 스레드에서만 쓴다.
+     */
+    public final class Sample {
+        private final long start;
+        private long last;
+        private volatile long end;
+
+        private Sample(long start) {
+            this.start = start;
+            this.last = start;
+        }
+
+        /**
+         * 앞 단계가 끝난 시각부터 지금까지를 phase 시간으로 기록한다.
+         */
+        public void lap(Phase phase) {
+            long now = System.nanoTime();
+            phases.get(phase).record(now - last, TimeUnit.NANOSECONDS);
+            last = now;
+        }
+
+        /**
+         * 메서드가 끝났음 (이후 커밋까지가 COMMIT 단계)
+         */
+        public void end() {
+            end = System.nanoTime();
+        }
+    }
+}
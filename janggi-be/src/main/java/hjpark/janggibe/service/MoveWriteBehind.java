@@ -0,0 +1,391 @@
+package hjpark.janggibe.service;
+
+import hjpark.janggibe.model.Move;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * moves 행을 이동 트랜잭션 밖에서 모아 JDBC 배치 INSERT로 쓰는 쓰기 지연 큐. (janggi.moves.write-behind.enabled)
+ * <p>
+ * 이동 트랜잭션이 커밋된 뒤에 큐에 넣고, 쓰기 스레드 하나가 쌓인 만큼(최대 batch-size) 여러 게임의 이동을
+ * 한 트랜잭션의 batchUpdate로 쓴다. 앞 배치를 쓰는 동안 다음 배치가 모이므로 부하가 클수록 배치가 커진다.
+ * 아직 쓰지 않은 이동은 게임별로 들고 있다가 {@link #pending(Long)}으로 읽기 쪽(보드 복원, 기보)에 합쳐 준다.
+ * <p>
+ * 내구성 한도: 프로세스가 비정상 종료되면 큐에 있던 이동(보통 배치 하나 분량)을 잃는다. 정상 종료 시에는 모두 쓰고,
+ * DB 장애로 drain-timeout 안에 다 쓰지 못하면 남은 이동을 INSERT 문 파일로 남긴다.
+ * 큐가 capacity만큼 차서 enqueue-timeout 안에 자리가 나지 않으면 그 이동은 호출한 스레드에서 바로 쓴다.
+ */
+@Component
+@Slf4j
+public class MoveWriteBehind {
+
+    private static final String INSERT_MOVE =
+            "INSERT INTO moves (game_id, player_name, from_row, from_col, to_row, to_col, piece_type, piece_color, " +
+            "captured_piece_type, move_number, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_MOVE =
+            "SELECT player_name, from_row, from_col, to_row, to_col, piece_type, piece_color, captured_piece_type " +
+            "FROM moves WHERE game_id = ? AND move_number = ?";
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long enqueueTimeoutNanos;
+    private final LinkedBlockingQueue<Move> queue;
+    private final ConcurrentHashMap<Long, List<Move>> pendingByGame = new ConcurrentHashMap<>();
+    private final Path spillDir;
+    private final Thread writer;
+    private volatile boolean running;
+    private volatile boolean abandoned;
+    private final Duration drainTimeout;
+    private final Set<Long> quarantinedGames = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong writtenMoves = new AtomicLong();
+    private final AtomicLong writtenBatches = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong conflictedMoves = new AtomicLong();
+
+    public MoveWriteBehind(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${janggi.moves.write-behind.enabled:false}") boolean enabled,
+                           @Value("${janggi.moves.write-behind.batch-size:500}") int batchSize,
+                           @Value("${janggi.moves.write-behind.capacity:10000}") int capacity,
+                           @Value("${janggi.moves.write-behind.enqueue-timeout:1s}") Duration enqueueTimeout,
+                           @Value("${janggi.moves.write-behind.drain-timeout:30s}") Duration drainTimeout,
+                           @Value("${janggi.moves.write-behind.spill-dir:move-spill}") Path spillDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.enqueueTimeoutNanos = enqueueTimeout.toNanos();
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.drainTimeout = drainTimeout;
+        this.spillDir = spillDir;
+        if (enabled) {
+            running = true;
+            writer = new Thread(this::run, "move-writer");
+            writer.setDaemon(true); // 다 쓰지 못한 이동은 shutdown이 파일로 남기므로 DB 호출에 묶여도 종료를 막지 않음
+            writer.start();
+        } else {
+            writer = null;
+        }
+        log.info("이동 기록 쓰기 지연 설정: enabled={}, batchSize={}, capacity={}, enqueueTimeout={}, spillDir={}",
+                enabled, batchSize, capacity, enqueueTimeout, spillDir);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 이동을 큐에 넣는다. 롤백되면 아무것도 쓰지 않는다.
+     */
+    public void appendAfterCommit(Move move) {
+        if (move.getCreatedAt() == null) {
+            move.setCreatedAt(LocalDateTime.now());
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(move);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(move);
+            }
+        });
+    }
+
+    /**
+     * gameId의 아직 쓰지 않은 이동 (수 순서)
+     */
+    public List<Move> pending(Long gameId) {
+        List<Move> moves = pendingByGame.get(gameId);
+        return moves == null ? List.of() : List.copyOf(moves);
+    }
+
+    /**
+     * 수 번호 충돌로 격리된 게임인지. 격리된 게임은 관리자가 moves-conflict.sql을 확인할 때까지 새 이동을 받지 않는다.
+     */
+    public boolean isQuarantined(Long gameId) {
+        return quarantinedGames.contains(gameId);
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    public long getWrittenMoves() {
+        return writtenMoves.get();
+    }
+
+    public long getWrittenBatches() {
+        return writtenBatches.get();
+    }
+
+    public long getFailedBatches() {
+        return failedBatches.get();
+    }
+
+    public long getConflictedMoves() {
+        return conflictedMoves.get();
+    }
+
+    /**
+     * 큐에 남은 이동을 모두 쓰고 쓰기 스레드를 멈춘다.
+     * drain-timeout 안에 다 쓰지 못하면(DB 장애 등) 쓰기를 멈추고 남은 이동을 spill-dir의 moves-unwritten.sql로 남긴다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.interrupt();
+        writer.join(drainTimeout.toMillis());
+        if (!writer.isAlive()) {
+            return;
+        }
+
+        abandoned = true;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(1));
+        List<Move> unwritten = new ArrayList<>();
+        pendingByGame.values().forEach(unwritten::addAll);
+        unwritten.sort(Comparator.comparing(Move::getGameId).thenComparingInt(Move::getMoveNumber));
+        log.error("종료 전에 이동 기록을 다 쓰지 못했습니다: {}건, 게임 {}개", unwritten.size(), pendingByGame.size());
+        if (!unwritten.isEmpty()) {
+            spill("unwritten", unwritten);
+        }
+    }
+
+    private void enqueue(Move move) {
+        pendingByGame.compute(move.getGameId(), (gameId, moves) -> {
+            List<Move> list = moves != null ? moves : new CopyOnWriteArrayList<>();
+            list.add(move);
+            return list;
+        });
+
+        boolean queued = false;
+        if (running) {
+            try {
+                queued = queue.offer(move, enqueueTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!queued) {
+            // 큐가 가득 찼거나 종료 중: 이 스레드에서 바로 씀
+            log.warn("이동 기록을 큐에 넣지 못해 바로 씁니다: gameId={}, moveNumber={}", move.getGameId(), move.getMoveNumber());
+            write(List.of(move));
+        }
+    }
+
+    private void run() {
+        List<Move> batch = new ArrayList<>(batchSize);
+        long backoff = 0;
+        while (!abandoned && (running || !queue.isEmpty() || !batch.isEmpty())) {
+            try {
+                if (batch.isEmpty()) {
+                    Move first = running ? queue.take() : queue.poll();
+                    if (first == null) {
+                        break;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                write(batch);
+                batch.clear();
+                backoff = 0;
+            } catch (InterruptedException e) {
+                // 종료 요청. 남은 큐를 마저 씀
+            } catch (RuntimeException e) {
+                // 같은 배치를 잠시 뒤 다시 씀 (배치는 한 트랜잭션이라 일부만 들어가지 않음)
+                failedBatches.incrementAndGet();
+                backoff = Math.min(MAX_BACKOFF_MILLIS, Math.max(100, backoff * 2));
+                if (abandoned) {
+                    break; // 남은 이동은 shutdown이 파일로 남김
+                }
+                log.warn("이동 기록 배치 쓰기 실패, {}ms 뒤 다시 시도: {}건", backoff, batch.size(), e);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    // 종료 중이어도 남은 배치는 계속 시도
+                }
+            }
+        }
+        log.info("이동 기록 쓰기 스레드 종료");
+    }
+
+    private void write(List<Move> moves) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_MOVE, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    bind(ps, moves.get(i));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return moves.size();
+                }
+            }));
+        } catch (DuplicateKeyException e) {
+            // 한 건씩 다시 씀. 같은 행이 이미 있으면(커밋 응답을 못 받고 다시 쓴 경우) 건너뛰고,
+            // 다른 행이 그 수 번호를 차지하고 있으면 수 번호 충돌이므로 게임을 격리함
+            for (Move move : moves) {
+                try {
+                    jdbcTemplate.update(INSERT_MOVE, ps -> bind(ps, move));
+                } catch (DuplicateKeyException duplicate) {
+                    if (isStored(move)) {
+                        log.debug("이미 저장된 이동 건너뜀: gameId={}, moveNumber={}", move.getGameId(), move.getMoveNumber());
+                    } else {
+                        quarantine(move);
+                    }
+                }
+            }
+        }
+        writtenMoves.addAndGet(moves.size());
+        writtenBatches.incrementAndGet();
+        release(moves);
+    }
+
+    /**
+     * move와 내용이 같은 행이 이미 저장되어 있는지
+     */
+    private boolean isStored(Move move) {
+        List<Boolean> same = jdbcTemplate.query(SELECT_MOVE, (rs, i) ->
+                Objects.equals(rs.getString("player_name"), move.getPlayerName())
+                        && rs.getInt("from_row") == move.getFromRow() && rs.getInt("from_col") == move.getFromCol()
+                        && rs.getInt("to_row") == move.getToRow() && rs.getInt("to_col") == move.getToCol()
+                        && Objects.equals(rs.getString("piece_type"), name(move.getPieceType()))
+                        && Objects.equals(rs.getString("piece_color"), name(move.getPieceColor()))
+                        && Objects.equals(rs.getString("captured_piece_type"), move.getCapturedPieceType()),
+                move.getGameId(), move.getMoveNumber());
+        return !same.isEmpty() && same.get(0);
+    }
+
+    /**
+     * 수 번호가 다른 행과 충돌한 이동. 게임 상태(수 카운터, 스냅샷)는 이미 커밋됐으므로 버리지 않고
+     * 파일로 빼 두고, 관리자가 확인할 때까지 그 게임의 새 이동을 막는다.
+     */
+    private void quarantine(Move move) {
+        conflictedMoves.incrementAndGet();
+        quarantinedGames.add(move.getGameId());
+        log.error("이동 기록의 수 번호가 다른 행과 충돌해 게임을 격리합니다: gameId={}, moveNumber={}, move={}",
+                move.getGameId(), move.getMoveNumber(), move);
+        spill("conflict", List.of(move));
+    }
+
+    /**
+     * DB에 쓰지 못한 이동을 spill-dir의 SQL 파일에 덧붙인다. (확인 후 그대로 실행하면 들어가는 INSERT 문)
+     */
+    private void spill(String reason, List<Move> moves) {
+        StringBuilder sql = new StringBuilder();
+        for (Move move : moves) {
+            sql.append(toInsertSql(move)).append('\n');
+        }
+        Path file = spillDir.resolve("moves-" + reason + ".sql");
+        try {
+            Files.createDirectories(spillDir);
+            Files.writeString(file, sql, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            log.error("쓰지 못한 이동 {}건을 파일로 남겼습니다: {}", moves.size(), file.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("쓰지 못한 이동을 파일로도 남기지 못했습니다. 아래 문장을 직접 실행해야 합니다: {}\n{}", file, sql, e);
+        }
+    }
+
+    private static String toInsertSql(Move move) {
+        return "INSERT INTO moves (game_id, player_name, from_row, from_col, to_row, to_col, piece_type, piece_color, " +
+                "captured_piece_type, move_number, created_at) VALUES (" +
+                move.getGameId() + ", " + literal(move.getPlayerName()) + ", " +
+                move.getFromRow() + ", " + move.getFromCol() + ", " + move.getToRow() + ", " + move.getToCol() + ", " +
+                literal(name(move.getPieceType())) + ", " + literal(name(move.getPieceColor())) + ", " +
+                literal(move.getCapturedPieceType()) + ", " + move.getMoveNumber() + ", " +
+                literal(move.getCreatedAt() != null ? Timestamp.valueOf(move.getCreatedAt()).toString() : null) + ");";
+    }
+
+    private static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    private static String literal(String value) {
+        return value == null ? "NULL" : "'" + value.replace("'", "''") + "'";
+    }
+
+    private void release(List<Move> written) {
+        for (Move move : written) {
+            pendingByGame.computeIfPresent(move.getGameId(), (gameId, moves) -> {
+                moves.remove(move);
+                return moves.isEmpty() ? null : moves;
+            });
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Move move) throws SQLException {
+        ps.setLong(1, move.getGameId());
+        ps.setString(2, move.getPlayerName());
+        ps.setInt(3, move.getFromRow());
+        ps.setInt(4, move.getFromCol());
+        ps.setInt(5, move.getToRow());
+        ps.setInt(6, move.getToCol());
+        ps.setString(7, name(move.getPieceType()));
+        ps.setString(8, name(move.getPieceColor()));
+        if (move.getCapturedPieceType() != null) {
+            ps.setString(9, move.getCapturedPieceType());
+        } else {
+            ps.setNull(9, Types.VARCHAR);
+        }
+        ps.setInt(10, move.getMoveNumber());
+        ps.setTimestamp(11, Timestamp.valueOf(move.getCreatedAt()));
+    }
+
+    /**
+     * DB에서 읽은 이동과 아직 쓰지 않은 이동을 합친다. 쓰는 중이라 양쪽에 다 있으면 하나만 남긴다.
+     */
+    static List<Move> merge(List<Move> stored, List<Move> pending) {
+        if (pending.isEmpty()) {
+            return stored;
+        }
+        int last = stored.isEmpty() ? Integer.MIN_VALUE : stored.get(stored.size() - 1).getMoveNumber();
+        List<Move> merged = new ArrayList<>(stored);
+        for (Move move : pending) {
+            if (move.getMoveNumber() > last) {
+                merged.add(move);
+            }
+        }
+        merged.sort(Comparator.comparingInt(Move::getMoveNumber));
+        return merged;
+    }
+}
@@ -0,0 +1,85 @@
+package hjpark.janggibe.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Redis 기반 {@link SharedGameStore}. janggi.redis.enabled=true 일 때만 등록된다.
+ * <p>
+ * 비교 후 교체/삭제는 Lua 스크립트로 원자적으로 처리하고, 모든 쓰기에 TTL을 건다.
+ */
+@Component
+@ConditionalOnProperty(name = "janggi.redis.enabled", havingValue = "true")
+public class RedisSharedGameStore implements SharedGameStore {
+
+    private static final String KEY_PREFIX = "janggi:game:";
+
+    private static final RedisScript<Long> COMPARE_AND_SET = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) " +
+            "  return 1 " +
+            "end " +
+            "return 0", Long.class);
+
+    private static final RedisScript<Long> COMPARE_AND_DELETE = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('DEL', KEYS[1]) " +
+            "end " +
+            "return 0", Long.class);
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final Duration ttl;
+
+    public RedisSharedGameStore(@Qualifier("gameStateRedisTemplate") RedisTemplate<String, byte[]> redisTemplate,
+                                @Value("${janggi.redis.ttl:6h}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public byte[] get(Long gameId) {
+        return redisTemplate.opsForValue().get(key(gameId));
+    }
+
+    @Override
+    public void put(Long gameId, byte[] state) {
+        redisTemplate.opsForValue().set(key(gameId), state, ttl);
+    }
+
+    @Override
+    public boolean putIfAbsent(Long gameId, byte[] state) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key(gameId), state, ttl));
+    }
+
+    @Override
+    public boolean compareAndSet(Long gameId, byte[] expected, byte[] update) {
+        byte[] ttlMillis = String.valueOf(ttl.toMillis()).getBytes(StandardCharsets.US_ASCII);
+        Long result = redisTemplate.execute(COMPARE_AND_SET, List.of(key(gameId)), expected, update, ttlMillis);
+        return result != null && result == 1L;
+    }
+
+    @Override
+    public boolean compareAndDelete(Long gameId, byte[] expected) {
+        Long result = redisTemplate.execute(COMPARE_AND_DELETE, List.of(key(gameId)), (Object) expected);
+        return result != null && result == 1L;
+    }
+
+    @Override
+    public void remove(Long gameId) {
+        redisTemplate.delete(key(gameId));
+    }
+
+    private static String key(Long gameId) {
+        // 인코딩 형식이 바뀌면 키도 바뀌어 이전 형식 값은 TTL로 사라짐
+        return KEY_PREFIX + SharedGameStateCodec.VERSION + ":" + gameId;
+    }
+}
@@ -0,0 +1,35 @@
+package hjpark.janggibe.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * janggi.audit.enabled=true로 띄우면 시작하면서 기록 검증을 한 번 돌린다. (규칙을 바꾼 뒤 배치로 실행)
+ * <pre>
+ * java -jar janggi-be-0.0.1-SNAPSHOT.jar --janggi.audit.enabled=true --spring.main.web-application-type=none
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty(name = "janggi.audit.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ReplayAuditRunner implements ApplicationRunner {
+
+    private final ReplayAuditService replayAuditService;
+
+    @Value("${janggi.audit.parallelism:0}")
+    private int parallelism;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        log.info("기록 검증 시작: parallelism={}", threads);
+        ReplayAuditService.Report report = replayAuditService.audit(threads);
+        log.info("기록 검증 완료: {}", report);
+    }
+}
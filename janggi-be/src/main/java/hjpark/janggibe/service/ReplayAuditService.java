@@ -0,0 +1,356 @@
+package hjpark.janggibe.service;
+
+import hjpark.janggibe.engine.Fen;
+import hjpark.janggibe.engine.MoveGenerator;
+import hjpark.janggibe.engine.PieceCodes;
+import hjpark.janggibe.engine.Position;
+import hjpark.janggibe.model.Game;
+import hjpark.janggibe.model.Piece;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 저장된 moves 전체를 현재 규칙으로 다시 두어 보고 잘못된 기록을 찾는 일괄 검증.
+ * <p>
+ * game_id 순서로 chunkSize 게임씩 읽고(키셋 페이지), 한 묶음을 fork-join 풀에서 게임 단위로 나눠 재생하는 동안
+ * 다음 묶음을 읽는다. 재생은 JSON 보드 없이 엔진 {@link Position} 위에서 make만 한다.
+ * 읽을 수 없는 행이나 게임이 끝난(왕 잡힘, 외통, 둘 수 없음, 빅장 무승부) 뒤의 수도 그 게임의 문제로 보고한다.
+ */
+@Service
+@Slf4j
+public class ReplayAuditService {
+
+    private static final String SELECT_GAME_IDS =
+            "SELECT DISTINCT game_id FROM moves WHERE game_id > ? ORDER BY game_id LIMIT ?";
+    private static final String SELECT_MOVES =
+            "SELECT game_id, move_number, from_row, from_col, to_row, to_col, piece_type, piece_color, captured_piece_type " +
+            "FROM moves WHERE game_id BETWEEN ? AND ? ORDER BY game_id, move_number";
+
+    /** 재생을 더 나누지 않는 게임 수 */
+    private static final int SPLIT_THRESHOLD = 32;
+    private static final Piece.PieceType[] TYPES = Piece.PieceType.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GameLogicService gameLogicService;
+    private final int chunkSize;
+    private final int maxReportedProblems;
+
+    public ReplayAuditService(JdbcTemplate jdbcTemplate,
+                              GameLogicService gameLogicService,
+                              @Value("${janggi.audit.chunk-size:2000}") int chunkSize,
+                              @Value("${janggi.audit.max-reported-problems:1000}") int maxReportedProblems) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.gameLogicService = gameLogicService;
+        this.chunkSize = chunkSize;
+        this.maxReportedProblems = maxReportedProblems;
+    }
+
+    public Report audit(int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Collector collector = new Collector(maxReportedProblems);
+        long start = System.nanoTime();
+        try {
+            long afterGameId = 0;
+            List<GameMoves> chunk = readChunk(afterGameId);
+            while (!chunk.isEmpty()) {
+                ForkJoinTask<Void> running = pool.submit(new ReplayTask(chunk, 0, chunk.size(), collector));
+
+                // 재생하는 동안 다음 묶음을 읽음
+                afterGameId = chunk.get(chunk.size() - 1).gameId;
+                List<GameMoves> next = readChunk(afterGameId);
+
+                running.join();
+                log.info("기록 검증 진행: games={}, moves={}, invalid={}, lastGameId={}",
+                        collector.games.sum(), collector.moves.sum(), collector.invalidGames.sum(), afterGameId);
+                chunk = next;
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return new Report(collector.games.sum(), collector.moves.sum(), collector.invalidGames.sum(),
+                new ArrayList<>(collector.problems), System.nanoTime() - start);
+    }
+
+    private List<GameMoves> readChunk(long afterGameId) {
+        List<Long> gameIds = jdbcTemplate.queryForList(SELECT_GAME_IDS, Long.class, afterGameId, chunkSize);
+        if (gameIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // 키셋으로 고른 id는 연속 구간이므로 IN 목록 대신 범위로 한 번에 읽음
+        List<GameMoves> games = new ArrayList<>(gameIds.size());
+        jdbcTemplate.query(SELECT_MOVES, rs -> {
+            long gameId = rs.getLong(1);
+            GameMoves current = games.isEmpty() ? null : games.get(games.size() - 1);
+            if (current == null || current.gameId != gameId) {
+                current = new GameMoves(gameId);
+                games.add(current);
+            }
+            int moveNumber = rs.getInt(2);
+            String captured = rs.getString(9);
+            try {
+                current.add(new ArchivedMove(moveNumber, rs.getInt(3), rs.getInt(4), rs.getInt(5), rs.getInt(6),
+                        Piece.PieceType.valueOf(rs.getString(7)), Piece.PieceColor.valueOf(rs.getString(8)),
+                        captured == null ? null : Piece.PieceType.valueOf(captured)));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                // 깨진 행 하나로 검증 전체가 멈추지 않도록 그 게임의 문제로 남기고 계속 읽음
+                current.markUnreadable(new Problem(gameId, moveNumber, "말 종류/색을 읽을 수 없는 행입니다. (" +
+                        rs.getString(7) + ", " + rs.getString(8) + ", " + captured + ")"));
+            }
+        }, gameIds.get(0), gameIds.get(gameIds.size() - 1));
+        return games;
+    }
+
+    /**
+     * 초기 배치에서 기록을 순서대로 두어 본다. 문제가 없으면 null, 있으면 처음 발견한 문제를 돌려준다.
+     */
+    Problem replay(GameMoves game, Position position) {
+        if (game.unreadable != null) {
+            return game.unreadable;
+        }
+        Fen.parse(Fen.INITIAL, position);
+        int[] buffer = new int[MoveGenerator.MAX_MOVES];
+        int expectedNumber = 1;
+        int color = PieceCodes.RED;
+        Game.CheckStatus lastStatus = Game.CheckStatus.NONE;
+        String ending = null;
+
+        for (ArchivedMove move : game.moves) {
+            if (ending != null) {
+                return new Problem(game.gameId, move.moveNumber, ending + " 뒤에도 수가 있습니다.");
+            }
+            if (move.moveNumber != expectedNumber) {
+                return new Problem(game.gameId, move.moveNumber, "수 번호가 이어지지 않습니다. (기대값 " + expectedNumber + ")");
+            }
+            if (PieceCodes.color(move.pieceColor) != color) {
+                return new Problem(game.gameId, move.moveNumber, "둘 차례가 아닌 쪽의 수입니다.");
+            }
+            if (!Position.isValidPosition(move.fromRow, move.fromCol) || !Position.isValidPosition(move.toRow, move.toCol)) {
+                return new Problem(game.gameId, move.moveNumber, "보드 밖의 좌표입니다.");
+            }
+
+            int from = Position.square(move.fromRow, move.fromCol);
+            int to = Position.square(move.toRow, move.toCol);
+            if (position.get(from) != PieceCodes.of(move.pieceType, move.pieceColor)) {
+                return new Problem(game.gameId, move.moveNumber, "출발 칸의 말이 기록과 다릅니다.");
+            }
+            if (!gameLogicService.isValidMove(position, from, to, color)) {
+                return new Problem(game.gameId, move.moveNumber, "현재 규칙으로는 둘 수 없는 수입니다.");
+            }
+
+            int captured = position.makeMove(from, to);
+            Piece.PieceType capturedType = captured == PieceCodes.EMPTY ? null : TYPES[PieceCodes.type(captured) - 1];
+            if (capturedType != move.capturedPieceType) {
+                return new Problem(game.gameId, move.moveNumber, "잡힌 말이 기록과 다릅니다.");
+            }
+
+            color = PieceCodes.opponent(color);
+            expectedNumber++;
+
+            // 대국 중 이동(GameService.makeMove)과 같은 종료 조건
+            if (capturedType == Piece.PieceType.KING) {
+                ending = "왕이 잡힌";
+                continue;
+            }
+            Game.CheckStatus status = gameLogicService.getCheckStatus(position, color, buffer);
+            if (status == Game.CheckStatus.CHECKMATE) {
+                ending = "외통";
+            } else if (status == Game.CheckStatus.STALEMATE) {
+                ending = "둘 수 있는 수가 없는 국면";
+            } else if (status == Game.CheckStatus.BIKJANG && lastStatus == Game.CheckStatus.BIKJANG) {
+                ending = "빅장 무승부";
+            }
+            lastStatus = status;
+        }
+        return null;
+    }
+
+    private final class ReplayTask extends RecursiveAction {
+        private final List<GameMoves> games;
+        private final int from;
+        private final int to;
+        private final Collector collector;
+
+        ReplayTask(List<GameMoves> games, int from, int to, Collector collector) {
+            this.games = games;
+            this.from = from;
+            this.to = to;
+            this.collector = collector;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                Position position = new Position();
+                for (int i = from; i < to; i++) {
+                    GameMoves game = games.get(i);
+                    collector.record(game, replay(game, position));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ReplayTask(games, from, mid, collector), new ReplayTask(games, mid, to, collector));
+        }
+    }
+
+    private static final class Collector {
+        private final LongAdder games = new LongAdder();
+        private final LongAdder moves = new LongAdder();
+        private final LongAdder invalidGames = new LongAdder();
+        private final Queue<Problem> problems = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger reported = new AtomicInteger();
+        private final int maxReported;
+
+        Collector(int maxReported) {
+            this.maxReported = maxReported;
+        }
+
+        void record(GameMoves game, Problem problem) {
+            games.increment();
+            moves.add(game.moves.size());
+            if (problem == null) {
+                return;
+            }
+            invalidGames.increment();
+            if (reported.getAndIncrement() < maxReported) {
+                problems.add(problem);
+                log.warn("잘못된 기록: {}", problem);
+            }
+        }
+    }
+
+    static final class GameMoves {
+        private final long gameId;
+        private final List<ArchivedMove> moves = new ArrayList<>();
+        private Problem unreadable; // 읽지 못한 첫 행. 있으면 재생하지 않고 이 문제로 보고
+
+        GameMoves(long gameId) {
+            this.gameId = gameId;
+        }
+
+        void add(ArchivedMove move) {
+            moves.add(move);
+        }
+
+        void markUnreadable(Problem problem) {
+            if (unreadable == null) {
+                unreadable = problem;
+            }
+        }
+    }
+
+    static final class ArchivedMove {
+        private final int moveNumber;
+        private final int fromRow;
+        private final int fromCol;
+        private final int toRow;
+        private final int toCol;
+        private final Piece.PieceType pieceType;
+        private final Piece.PieceColor pieceColor;
+        private final Piece.PieceType capturedPieceType;
+
+        ArchivedMove(int moveNumber, int fromRow, int fromCol, int toRow, int toCol,
+                     Piece.PieceType pieceType, Piece.PieceColor pieceColor, Piece.PieceType capturedPieceType) {
+            this.moveNumber = moveNumber;
+            this.fromRow = fromRow;
+            this.fromCol = fromCol;
+            this.toRow = toRow;
+            this.toCol = toCol;
+            this.pieceType = pieceType;
+            this.pieceColor = pieceColor;
+            this.capturedPieceType = capturedPieceType;
+        }
+    }
+
+    public static final class Problem {
+        private final long gameId;
+        private final int moveNumber;
+        private final String reason;
+
+        Problem(long gameId, int moveNumber, String reason) {
+            this.gameId = gameId;
+            this.moveNumber = moveNumber;
+            this.reason = reason;
+        }
+
+        public long getGameId() {
+            return gameId;
+        }
+
+        public int getMoveNumber() {
+            return moveNumber;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "gameId=" + gameId + ", moveNumber=" + moveNumber + ": " + reason;
+        }
+    }
+
+    public static final class Report {
+        private final long games;
+        private final long moves;
+        private final long invalidGames;
+        private final List<Problem> problems;
+        private final long nanos;
+
+        Report(long games, long moves, long invalidGames, List<Problem> problems, long nanos) {
+            this.games = games;
+            this.moves = moves;
+            this.invalidGames = invalidGames;
+            this.problems = problems;
+            this.nanos = nanos;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public long getMoves() {
+            return moves;
+        }
+
+        public long getInvalidGames() {
+            return invalidGames;
+        }
+
+        public List<Problem> getProblems() {
+            return problems;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getGamesPerSecond() {
+            return nanos == 0 ? 0 : games * 1_000_000_000L / nanos;
+        }
+
+        public long getMovesPerSecond() {
+            return nanos == 0 ? 0 : moves * 1_000_000_000L / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d games / %,d moves in %.3f s (%,d games/s, %,d moves/s), invalid games: %,d",
+                    games, moves, nanos / 1_000_000_000.0, getGamesPerSecond(), getMovesPerSecond(), invalidGames);
+        }
+    }
+}
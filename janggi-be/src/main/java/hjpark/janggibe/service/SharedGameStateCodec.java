@@ -0,0 +1,95 @@
+package hjpark.janggibe.service;
+
+import hjpark.janggibe.model.Game;
+import hjpark.janggibe.model.LiveGame;
+import hjpark.janggibe.model.Piece;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 공유 저장소용 바이너리 인코딩.
+ * <pre>
+ * [버전 1B][턴 1B][상태 1B][둔 수 2B][보드: {@link BoardSnapshotCodec} 형식]
+ * [한 이름][초 이름][승자 이름]  (이름 = 길이 2B + UTF-8, 없으면 길이 -1)
+ * </pre>
+ */
+public final class SharedGameStateCodec {
+
+    public static final byte VERSION = 2;
+
+    private static final Piece.PieceColor[] COLORS = Piece.PieceColor.values();
+    private static final Game.GameStatus[] STATUSES = Game.GameStatus.values();
+
+    private SharedGameStateCodec() {
+    }
+
+    public static byte[] encode(LiveGame liveGame) {
+        Game game = liveGame.getGame();
+
+        byte[] red = utf8(game.getRedPlayerName());
+        byte[] blue = utf8(game.getBluePlayerName());
+        byte[] winner = utf8(game.getWinnerName());
+        int size = 5 + BoardSnapshotCodec.size(liveGame.getBoard()) + nameSize(red) + nameSize(blue) + nameSize(winner);
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(VERSION);
+        buffer.put((byte) game.getCurrentTurn().ordinal());
+        buffer.put((byte) game.getGameStatus().ordinal());
+        buffer.putShort((short) game.getMoveCount());
+        BoardSnapshotCodec.write(buffer, liveGame.getBoard());
+        putName(buffer, red);
+        putName(buffer, blue);
+        putName(buffer, winner);
+        return buffer.array();
+    }
+
+    /**
+     * 인코딩된 상태를 liveGame의 게임/보드에 덮어쓴다. (방 제목, 생성 시각 등 인코딩에 없는 값은 그대로 둔다)
+     */
+    public static void decodeInto(byte[] state, LiveGame liveGame) {
+        ByteBuffer buffer = ByteBuffer.wrap(state);
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 게임 상태 버전: " + version);
+        }
+
+        Game game = liveGame.getGame();
+        game.setCurrentTurn(COLORS[buffer.get()]);
+        game.setGameStatus(STATUSES[buffer.get()]);
+        game.setMoveCount(buffer.getShort() & 0xFFFF);
+        BoardSnapshotCodec.read(buffer, liveGame.getBoard());
+        liveGame.getBoard().setSideToMove(game.getCurrentTurn());
+
+        game.setRedPlayerName(getName(buffer));
+        game.setBluePlayerName(getName(buffer));
+        game.setWinnerName(getName(buffer));
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int nameSize(byte[] name) {
+        return 2 + (name == null ? 0 : name.length);
+    }
+
+    private static void putName(ByteBuffer buffer, byte[] name) {
+        if (name == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        buffer.putShort((short) name.length);
+        buffer.put(name);
+    }
+
+    private static String getName(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] name = new byte[length];
+        buffer.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,33 @@
+package hjpark.janggibe.service;
+
+/**
+ * 여러 서버 노드가 함께 보는 진행 중 게임 상태 저장소.
+ * <p>
+ * 값은 {@link SharedGameStateCodec}으로 인코딩한 바이트 배열이며, 턴 진행은 {@link #compareAndSet}으로만 한다.
+ */
+public interface SharedGameStore {
+
+    /**
+     * 저장된 상태를 돌려준다. 없으면 null.
+     */
+    byte[] get(Long gameId);
+
+    void put(Long gameId, byte[] state);
+
+    /**
+     * 값이 없을 때만 저장한다.
+     */
+    boolean putIfAbsent(Long gameId, byte[] state);
+
+    /**
+     * 현재 값이 expected와 같을 때만 update로 바꾼다.
+     */
+    boolean compareAndSet(Long gameId, byte[] expected, byte[] update);
+
+    /**
+     * 현재 값이 expected와 같을 때만 지운다.
+     */
+    boolean compareAndDelete(Long gameId, byte[] expected);
+
+    void remove(Long gameId);
+}
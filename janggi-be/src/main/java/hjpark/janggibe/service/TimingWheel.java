@@ -0,0 +1,193 @@
+package hjpark.janggibe.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 해시 타이밍 휠. 스레드 하나가 tick마다 칸 하나만 훑으므로 예약이 수십만 개여도 비용이 거의 들지 않는다.
+ * <p>
+ * 만료 시각을 tick 단위로 올림해 (tick % 칸 수) 칸에 넣고, 그 칸을 지날 때 만료 tick이 지난 것만 실행한다.
+ * 예약/취소는 어느 스레드에서든 할 수 있고 큐에만 넣는다. 칸의 연결 리스트는 휠 스레드만 만진다.
+ * 만료는 tick 한두 개만큼 늦을 수 있고(이르지는 않음), 작업은 휠 스레드에서 실행되므로 짧게 끝나야 한다.
+ */
+@Slf4j
+public final class TimingWheel implements AutoCloseable {
+
+    private final long tickNanos;
+    private final int mask;
+    private final Entry[] slots;
+    private final Queue<Entry> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread thread;
+    private final long startNanos;
+    private volatile boolean running = true;
+    private long tick;
+
+    public TimingWheel(String name, Duration tickDuration, int wheelSize) {
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("tick은 0보다 커야 합니다: " + tickDuration);
+        }
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1; // 2의 거듭제곱으로 올림
+        this.tickNanos = tickDuration.toNanos();
+        this.mask = size - 1;
+        this.slots = new Entry[size];
+        this.startNanos = System.nanoTime();
+        this.thread = new Thread(this::run, name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * delay 뒤에 task를 휠 스레드에서 실행한다.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        Entry entry = new Entry(this, task, (deadline + tickNanos - 1) / tickNanos);
+        pending.incrementAndGet();
+        scheduled.add(entry);
+        return entry;
+    }
+
+    /**
+     * 아직 실행되지 않은 예약 수
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.NANOSECONDS.toMillis(tickNanos) + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long wakeAt = startNanos + (tick + 1) * tickNanos;
+            long sleep;
+            while (running && (sleep = wakeAt - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, sleep);
+            }
+            if (!running) {
+                break;
+            }
+            removeCancelled();
+            addScheduled();
+            expire(slots[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void addScheduled() {
+        Entry entry;
+        while ((entry = scheduled.poll()) != null) {
+            if (entry.state != Entry.PENDING) {
+                continue;
+            }
+            // 이미 지난 만료 시각은 이번 tick 칸에 넣어 바로 실행
+            long target = Math.max(entry.deadlineTick, tick);
+            int index = (int) (target & mask);
+            entry.next = slots[index];
+            if (entry.next != null) {
+                entry.next.prev = entry;
+            }
+            slots[index] = entry;
+            entry.slot = index;
+        }
+    }
+
+    private void removeCancelled() {
+        Entry entry;
+        while ((entry = cancelled.poll()) != null) {
+            unlink(entry);
+        }
+    }
+
+    private void expire(Entry entry) {
+        while (entry != null) {
+            Entry next = entry.next;
+            if (entry.deadlineTick <= tick) {
+                unlink(entry);
+                if (Entry.STATE.compareAndSet(entry, Entry.PENDING, Entry.EXPIRED)) {
+                    pending.decrementAndGet();
+                    try {
+                        entry.task.run();
+                    } catch (Throwable t) {
+                        log.warn("타이밍 휠 작업 실패", t);
+                    }
+                }
+            }
+            entry = next;
+        }
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.slot < 0) {
+            return; // 아직 칸에 들어가지 않았거나 이미 빠짐
+        }
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            slots[entry.slot] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.slot = -1;
+    }
+
+    public interface Timeout {
+        /**
+         * 아직 실행 전이면 취소하고 true
+         */
+        boolean cancel();
+    }
+
+    private static final class Entry implements Timeout {
+        static final int PENDING = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+        static final AtomicIntegerFieldUpdater<Entry> STATE = AtomicIntegerFieldUpdater.newUpdater(Entry.class, "state");
+
+        final TimingWheel wheel;
+        final Runnable task;
+        final long deadlineTick;
+        volatile int state = PENDING;
+
+        // 휠 스레드만 접근
+        Entry prev;
+        Entry next;
+        int slot = -1;
+
+        Entry(TimingWheel wheel, Runnable task, long deadlineTick) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            wheel.pending.decrementAndGet();
+            wheel.cancelled.add(this);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+-- games 조회용 인덱스 (MySQL)
+-- ddl-auto=update면 Game 엔티티의 @Table(indexes)로 자동 생성되고, validate/none으로 운영하는 DB에는 이 스크립트를 직접 적용한다.
+--
+-- idx_games_status_created : 대기 목록 (game_status = 'WAITING' ORDER BY created_at)
+-- idx_games_red_player     : 플레이어 조회의 빨강 쪽 (red_player_name = ? [AND game_status = ?])
+-- idx_games_blue_player    : 플레이어 조회의 파랑 쪽 (blue_player_name = ? [AND game_status = ?])
+-- 플레이어 조회는 두 쪽을 UNION으로 나눠 각각 인덱스를 탄다. (GameRepository 참고)
+
+CREATE INDEX idx_games_status_created ON games (game_status, created_at);
+CREATE INDEX idx_games_red_player ON games (red_player_name, game_status, updated_at);
+CREATE INDEX idx_games_blue_player ON games (blue_player_name, game_status, updated_at);
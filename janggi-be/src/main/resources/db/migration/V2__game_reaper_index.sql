@@ -0,0 +1,6 @@
+-- GameReaper용 인덱스 (MySQL)
+-- ddl-auto=update면 Game 엔티티의 @Table(indexes)로 자동 생성되고, validate/none으로 운영하는 DB에는 이 스크립트를 직접 적용한다.
+--
+-- idx_games_status_updated : 오래 움직임 없는 게임 찾기 (game_status = ? AND updated_at < ? ORDER BY updated_at LIMIT ?)
+
+CREATE INDEX idx_games_status_updated ON games (game_status, updated_at);
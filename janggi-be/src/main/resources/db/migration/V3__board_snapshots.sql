@@ -0,0 +1,16 @@
+-- 보드 스냅샷 테이블 (MySQL)
+-- ddl-auto=update면 BoardSnapshot 엔티티로 자동 생성되고, validate/none으로 운영하는 DB에는 이 스크립트를 직접 적용한다.
+-- 배포 전에 적용해야 한다. 없으면 진행 중 게임을 처음 읽을 때(기준 스냅샷 저장)부터 실패한다.
+--
+-- board_snapshots : moveNumber번째 수까지 둔 뒤의 보드 (BoardSnapshotCodec 형식). 보드는 가장 최근 스냅샷 + 이후 moves로 복원한다.
+-- 기존 게임은 스냅샷이 없어도 되며, board_state를 기준으로 처음 읽을 때 스냅샷이 생긴다. 채워 넣을 데이터는 없다.
+
+CREATE TABLE board_snapshots (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    game_id     BIGINT       NOT NULL,
+    move_number INT          NOT NULL,
+    board       VARBINARY(128) NOT NULL,
+    created_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_board_snapshots_game_move UNIQUE (game_id, move_number)
+) ENGINE = InnoDB;
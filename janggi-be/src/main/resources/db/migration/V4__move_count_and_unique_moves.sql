@@ -0,0 +1,24 @@
+-- 수 번호 카운터와 수 번호 중복 방지 (MySQL)
+-- ddl-auto=update면 Game/Move 엔티티로 자동 생성되고, validate/none으로 운영하는 DB에는 이 스크립트를 직접 적용한다.
+-- 배포 전에 순서대로 적용해야 한다. move_count가 없으면 게임을 읽는 것부터 실패한다.
+--
+-- uk_moves_game_move : (game_id, move_number)당 한 행. 예전에는 COUNT(*) + 1로 번호를 매겨서 동시에 둔 수가 같은 번호를 받았을 수 있다.
+-- games.move_count   : 지금까지 둔 수. 다음 수의 move_number는 move_count + 1
+
+-- 1. 중복 확인. 결과가 비어 있어야 2로 넘어간다.
+--    행이 나오면 해당 게임을 확인해서(ReplayAuditRunner 결과 참고) 중복 행을 정리한 뒤 다시 확인한다. 정리하지 않으면 2가 Duplicate entry로 실패한다.
+SELECT game_id, move_number, COUNT(*) AS cnt
+FROM moves
+GROUP BY game_id, move_number
+HAVING COUNT(*) > 1;
+
+-- 2. 수 번호 유일 키 (game_id로 시작하므로 게임별 이동 조회 인덱스도 겸함)
+ALTER TABLE moves ADD CONSTRAINT uk_moves_game_move UNIQUE (game_id, move_number);
+
+-- 3. move_count는 NULL 허용으로 추가해서 moves로 채운 뒤 NOT NULL로 바꾼다. (MoveLogService가 복원 때 맞추는 값과 같은 COUNT)
+ALTER TABLE games ADD COLUMN move_count INT NULL;
+
+UPDATE games g
+SET g.move_count = (SELECT COUNT(*) FROM moves m WHERE m.game_id = g.id);
+
+ALTER TABLE games MODIFY COLUMN move_count INT NOT NULL DEFAULT 0;
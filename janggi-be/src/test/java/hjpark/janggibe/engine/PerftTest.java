@@ -0,0 +1,236 @@
+package hjpark.janggibe.engine;
+
+import hjpark.janggibe.model.GameBoard;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PerftTest {
+
+    private static final String MIDGAME = "R1C2AEH1/4A4/3KE3R/PHP1P1P1P/9/p7p/2p1p1pC1/e1h2c3/3ka4/r2a2ehr r";
+    private static final String ENDGAME = "4K4/9/9/9/4R4/9/9/4c4/9/3k5 r";
+    // 궁성 대각선 위의 차/포/졸과 장군 받는 왕
+    private static final String PALACE = "3R1C3/9/3K5/9/9/9/9/3r1p3/4P4/3k1c3 r";
+
+    @ParameterizedTest
+    @CsvSource({
+            "1, 51",
+            "2, 2591",
+            "3, 122945",
+            "4, 5811762"
+    })
+    void initialPosition(int depth, long expected) {
+        assertEquals(expected, perft(Fen.INITIAL, depth));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1, 43",
+            "2, 1641",
+            "3, 69223",
+            "4, 2584350"
+    })
+    void midgamePosition(int depth, long expected) {
+        assertEquals(expected, perft(MIDGAME, depth));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1, 11",
+            "2, 167",
+            "3, 3184"
+    })
+    void endgamePosition(int depth, long expected) {
+        assertEquals(expected, perft(ENDGAME, depth));
+    }
+
+    @Test
+    void fenRoundTrip() {
+        Position position = new Position();
+        int side = Fen.parse(MIDGAME, position);
+        assertEquals(MIDGAME, Fen.format(position, side));
+
+        GameBoard board = new GameBoard();
+        board.initializeBoard();
+        assertEquals(Fen.INITIAL, Fen.format(board.getPosition(), PieceCodes.RED));
+    }
+
+    @Test
+    void matchesNaiveReference() {
+        for (String fen : new String[]{Fen.INITIAL, MIDGAME, ENDGAME, PALACE}) {
+            assertEquals(perft(fen, 3), NaiveRules.perft(fen, 3), fen);
+        }
+    }
+
+    private long perft(String fen, int depth) {
+        Position position = new Position();
+        int side = Fen.parse(fen, position);
+        String before = Fen.format(position, side);
+        long nodes = new Perft().perft(position, side, depth);
+        assertEquals(before, Fen.format(position, side), "make/unmake 후 국면이 복원되어야 함");
+        return nodes;
+    }
+
+    /**
+     * 엔진(MoveGenerator/Rules/Position)을 쓰지 않고 규칙을 좌표 계산으로 그대로 옮긴 기준 구현.
+     * 90 x 90 칸 쌍을 모두 물어보고 보드를 복사해 두므로 느리지만, 수 표/직선 표/왕 노출 생략과 독립이라
+     * 생성기 버그가 있으면 perft 수가 달라진다.
+     */
+    private static final class NaiveRules {
+        private static final int ROWS = 10;
+        private static final int COLS = 9;
+
+        static long perft(String fen, int depth) {
+            String[] parts = fen.split(" ");
+            char[] board = new char[ROWS * COLS];
+            String[] ranks = parts[0].split("/");
+            for (int row = 0; row < ROWS; row++) {
+                int col = 0;
+                for (char ch : ranks[row].toCharArray()) {
+                    if (Character.isDigit(ch)) {
+                        for (int i = 0; i < ch - '0'; i++) {
+                            board[row * COLS + col++] = '.';
+                        }
+                    } else {
+                        board[row * COLS + col++] = ch;
+                    }
+                }
+            }
+            return perft(board, parts[1].equals("r"), depth);
+        }
+
+        private static long perft(char[] board, boolean red, int depth) {
+            if (depth == 0) {
+                return 1;
+            }
+            long nodes = 0;
+            for (int from = 0; from < ROWS * COLS; from++) {
+                for (int to = 0; to < ROWS * COLS; to++) {
+                    if (!canMove(board, from, to, red)) {
+                        continue;
+                    }
+                    char[] next = board.clone();
+                    char captured = next[to];
+                    next[to] = next[from];
+                    next[from] = '.';
+                    if (isAttacked(next, red)) {
+                        continue; // 자기 왕을 잡히게 두는 수
+                    }
+                    boolean kingCaptured = Character.toUpperCase(captured) == 'K';
+                    nodes += depth == 1 || kingCaptured ? 1 : perft(next, !red, depth - 1);
+                }
+            }
+            return nodes;
+        }
+
+        // red 쪽 왕을 상대 말이 잡을 수 있는지 (왕이 없으면 false)
+        private static boolean isAttacked(char[] board, boolean red) {
+            int king = -1;
+            for (int sq = 0; sq < board.length; sq++) {
+                if (board[sq] == (red ? 'K' : 'k')) {
+                    king = sq;
+                }
+            }
+            if (king < 0) {
+                return false;
+            }
+            for (int sq = 0; sq < board.length; sq++) {
+                if (canMove(board, sq, king, !red)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean canMove(char[] board, int from, int to, boolean red) {
+            char piece = board[from];
+            if (piece == '.' || Character.isUpperCase(piece) != red || from == to) {
+                return false;
+            }
+            if (board[to] != '.' && Character.isUpperCase(board[to]) == red) {
+                return false;
+            }
+            int fr = from / COLS, fc = from % COLS, tr = to / COLS, tc = to % COLS;
+            int dr = tr - fr, dc = tc - fc;
+            switch (Character.toUpperCase(piece)) {
+                case 'K':
+                case 'A':
+                    // 자기 궁성 안에서 한 칸. 대각선은 궁성 선 위에서만
+                    return inPalace(tr, tc, red) && (Math.abs(dr) + Math.abs(dc) == 1 || palaceStep(fr, fc, tr, tc));
+                case 'E':
+                    // 대각선 두 칸, 가운데가 비어야 하고 강을 건너지 못함
+                    return Math.abs(dr) == 2 && Math.abs(dc) == 2 && (red ? tr <= 4 : tr >= 5)
+                            && board[(fr + dr / 2) * COLS + fc + dc / 2] == '.';
+                case 'H':
+                    if (Math.abs(dr) == 2 && Math.abs(dc) == 1) {
+                        return board[(fr + dr / 2) * COLS + fc] == '.';
+                    }
+                    return Math.abs(dr) == 1 && Math.abs(dc) == 2 && board[fr * COLS + fc + dc / 2] == '.';
+                case 'R':
+                    return onLine(fr, fc, tr, tc) && between(board, fr, fc, tr, tc) == 0;
+                case 'C':
+                    // 빈 칸으로는 막힘 없이, 말이 있는 칸은 정확히 하나를 넘어서
+                    return onLine(fr, fc, tr, tc) && between(board, fr, fc, tr, tc) == (board[to] == '.' ? 0 : 1);
+                case 'P':
+                    int forward = red ? 1 : -1;
+                    boolean crossed = red ? fr > 4 : fr < 5;
+                    if (dr == forward && dc == 0) {
+                        return true;
+                    }
+                    return crossed && ((dr == 0 && Math.abs(dc) == 1) || (dr == forward && palaceStep(fr, fc, tr, tc)));
+                default:
+                    return false;
+            }
+        }
+
+        // 가로/세로 직선이거나, 궁성 선을 따라 가는 대각선
+        private static boolean onLine(int fr, int fc, int tr, int tc) {
+            if (fr == tr || fc == tc) {
+                return true;
+            }
+            int steps = Math.abs(tr - fr);
+            if (steps != Math.abs(tc - fc)) {
+                return false;
+            }
+            int rs = Integer.signum(tr - fr), cs = Integer.signum(tc - fc);
+            for (int i = 0; i < steps; i++) {
+                if (!palaceStep(fr + rs * i, fc + cs * i, fr + rs * (i + 1), fc + cs * (i + 1))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // from과 to 사이(양끝 제외)에 있는 말 수
+        private static int between(char[] board, int fr, int fc, int tr, int tc) {
+            int rs = Integer.signum(tr - fr), cs = Integer.signum(tc - fc);
+            int count = 0;
+            for (int r = fr + rs, c = fc + cs; r != tr || c != tc; r += rs, c += cs) {
+                if (board[r * COLS + c] != '.') {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        // 같은 궁성 안에서 중앙을 한쪽 끝으로 하는 대각선 한 칸
+        private static boolean palaceStep(int fr, int fc, int tr, int tc) {
+            if (Math.abs(tr - fr) != 1 || Math.abs(tc - fc) != 1) {
+                return false;
+            }
+            for (boolean red : new boolean[]{true, false}) {
+                int center = red ? 1 : 8;
+                if (inPalace(fr, fc, red) && inPalace(tr, tc, red)) {
+                    return (fr == center && fc == 4) || (tr == center && tc == 4);
+                }
+            }
+            return false;
+        }
+
+        private static boolean inPalace(int row, int col, boolean red) {
+            return col >= 3 && col <= 5 && (red ? row <= 2 : row >= 7);
+        }
+    }
+}
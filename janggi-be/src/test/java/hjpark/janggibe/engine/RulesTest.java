@@ -0,0 +1,182 @@
+package hjpark.janggibe.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RulesTest {
+
+    private final int[] buffer = new int[MoveGenerator.MAX_MOVES];
+
+    @Test
+    void initialPositionIsNormal() {
+        assertEquals(Rules.NORMAL, status(Fen.INITIAL));
+    }
+
+    @Test
+    void chariotOnOpenFileGivesCheck() {
+        assertEquals(Rules.CHECK, status("4K4/9/9/9/9/4r4/9/9/3k5/9 r"));
+    }
+
+    @Test
+    void twoChariotsOnBackRanksMate() {
+        assertEquals(Rules.CHECKMATE, status("r3K4/8r/9/9/9/9/9/9/9/3k5 r"));
+    }
+
+    @Test
+    void lonelyKingWithEveryEscapeCoveredIsStalemate() {
+        assertEquals(Rules.STALEMATE, status("4K4/r8/3r2h2/9/9/9/9/9/3k5/9 r"));
+    }
+
+    @Test
+    void facingKingsAreBikjangUntilSomethingStandsBetween() {
+        assertEquals(Rules.BIKJANG, status("4K4/9/9/9/9/9/9/9/4k4/9 r"));
+        assertEquals(Rules.NORMAL, status("4K4/9/9/9/4p4/9/9/9/4k4/9 r"));
+    }
+
+    @Test
+    void attackMapsAndKingSquaresMatchBruteForceDuringPlayouts() {
+        Random random = new Random(15);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (int game = 0; game < 40; game++) {
+            Position position = new Position();
+            Fen.parse(Fen.INITIAL, position);
+            for (int ply = 0; ply < 150; ply++) {
+                for (int color : new int[]{PieceCodes.RED, PieceCodes.BLUE}) {
+                    assertEquals(scanKing(position, color), position.kingSquare(color));
+                }
+                for (int sq = 0; sq < Position.SQUARES; sq++) {
+                    assertEquals(bruteForceAttacked(position, sq, PieceCodes.BLUE), MoveGenerator.isAttacked(position, sq, PieceCodes.BLUE));
+                    assertEquals(bruteForceAttacked(position, sq, PieceCodes.RED), MoveGenerator.isAttacked(position, sq, PieceCodes.RED));
+                }
+
+                int count = MoveGenerator.generate(position, position.getSideToMove(), moves);
+                if (count == 0) {
+                    break;
+                }
+                int move = moves[random.nextInt(count)];
+                int captured = position.makeMove(MoveGenerator.from(move), MoveGenerator.to(move));
+                if (PieceCodes.type(captured) == PieceCodes.KING) {
+                    assertEquals(-1, position.kingSquare(PieceCodes.colorOf(captured)));
+                    position.unmakeMove(MoveGenerator.from(move), MoveGenerator.to(move), captured);
+                    assertEquals(MoveGenerator.to(move), position.kingSquare(PieceCodes.colorOf(captured)));
+                    break;
+                }
+            }
+        }
+    }
+
+    @Test
+    void legalFilterMatchesMakeUnmakeOfEveryPseudoLegalMove() {
+        Random random = new Random(16);
+        int[] pseudo = new int[MoveGenerator.MAX_MOVES];
+        int[] legal = new int[MoveGenerator.MAX_MOVES];
+        for (int game = 0; game < 40; game++) {
+            Position position = new Position();
+            Fen.parse(Fen.INITIAL, position);
+            for (int ply = 0; ply < 150; ply++) {
+                int side = position.getSideToMove();
+                int count = MoveGenerator.generate(position, side, pseudo);
+                int expected = 0;
+                for (int i = 0; i < count; i++) {
+                    if (Rules.leavesKingSafe(position, MoveGenerator.from(pseudo[i]), MoveGenerator.to(pseudo[i]), side)) {
+                        expected++;
+                    }
+                }
+                int legalCount = Rules.generateLegal(position, side, legal);
+                assertEquals(expected, legalCount);
+                for (int i = 0; i < legalCount; i++) {
+                    assertTrue(Rules.isLegal(position, MoveGenerator.from(legal[i]), MoveGenerator.to(legal[i]), side));
+                }
+                if (legalCount == 0) {
+                    break;
+                }
+                int move = legal[random.nextInt(legalCount)];
+                position.makeMove(MoveGenerator.from(move), MoveGenerator.to(move));
+            }
+        }
+    }
+
+    @Test
+    void screenedCannonCheckIsResolvedOnlyByMovingTheScreenOffTheLine() {
+        // 한 차가 초 포와 한 왕 사이의 포다리라서 장군. 세로줄을 벗어나거나 포를 잡아야 풀림
+        Position position = new Position();
+        Fen.parse("4K4/9/9/9/4R4/9/9/4c4/9/3k5 r", position);
+        int chariot = Position.square(4, 4);
+        assertTrue(Rules.isInCheck(position, PieceCodes.RED));
+        assertFalse(Rules.isLegal(position, chariot, Position.square(5, 4), PieceCodes.RED));
+        assertFalse(Rules.isLegal(position, Position.square(0, 4), Position.square(1, 4), PieceCodes.RED));
+        assertTrue(Rules.isLegal(position, chariot, Position.square(4, 0), PieceCodes.RED));
+        assertTrue(Rules.isLegal(position, chariot, Position.square(7, 4), PieceCodes.RED));
+    }
+
+    @Test
+    void lineMovingPiecesFollowPalaceDiagonals() {
+        Position chariot = new Position();
+        Fen.parse("4K4/9/9/9/9/9/9/3R5/9/5k3 r", chariot);
+        assertTrue(pseudoLegal(chariot, 7, 3, 8, 4));
+        assertTrue(pseudoLegal(chariot, 7, 3, 9, 5));
+        assertFalse(pseudoLegal(chariot, 7, 3, 8, 2));
+        assertTrue(Rules.isInCheck(chariot, PieceCodes.BLUE));
+
+        Position cannon = new Position();
+        Fen.parse("4K4/9/9/9/9/9/9/3C5/4p4/5k3 r", cannon);
+        assertTrue(pseudoLegal(cannon, 7, 3, 9, 5));
+
+        Position soldier = new Position();
+        Fen.parse("4K4/9/9/9/9/P8/9/3P5/9/5k3 r", soldier);
+        assertTrue(pseudoLegal(soldier, 7, 3, 8, 4));
+        assertFalse(pseudoLegal(soldier, 7, 3, 8, 2));
+        assertFalse(pseudoLegal(soldier, 5, 0, 6, 1));
+    }
+
+    @Test
+    void kingAndGuardStepDiagonallyOnlyAlongPalaceLines() {
+        Position position = new Position();
+        Fen.parse("3AK4/9/9/9/9/9/9/9/9/5k3 r", position);
+        assertFalse(pseudoLegal(position, 0, 4, 1, 3));
+        assertFalse(pseudoLegal(position, 0, 4, 1, 5));
+        assertTrue(pseudoLegal(position, 0, 4, 1, 4));
+        assertTrue(pseudoLegal(position, 0, 3, 1, 4));
+        assertTrue(pseudoLegal(position, 0, 3, 1, 3));
+    }
+
+    private static boolean pseudoLegal(Position position, int fromRow, int fromCol, int toRow, int toCol) {
+        int from = Position.square(fromRow, fromCol);
+        return MoveGenerator.isPseudoLegal(position, from, Position.square(toRow, toCol), PieceCodes.colorOf(position.get(from)));
+    }
+
+    private int status(String fen) {
+        Position position = new Position();
+        int sideToMove = Fen.parse(fen, position);
+        return Rules.status(position, sideToMove, buffer);
+    }
+
+    private static int scanKing(Position position, int color) {
+        for (int sq = 0; sq < Position.SQUARES; sq++) {
+            if (position.get(sq) == (PieceCodes.KING | color)) {
+                return sq;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean bruteForceAttacked(Position position, int square, int byColor) {
+        // 공격 = 그 칸의 상대 말을 잡을 수 있음. 빈 칸이나 자기 말 칸은 상대 졸을 놓고 잡을 수 있는지 본다
+        int original = position.get(square);
+        Position probe = position.copy();
+        if (original == PieceCodes.EMPTY || PieceCodes.colorOf(original) == byColor) {
+            probe.put(square, PieceCodes.SOLDIER | PieceCodes.opponent(byColor));
+        }
+        for (int from = 0; from < Position.SQUARES; from++) {
+            int code = probe.get(from);
+            if (code != PieceCodes.EMPTY && PieceCodes.colorOf(code) == byColor
+                    && MoveGenerator.isPseudoLegal(probe, from, square, byColor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
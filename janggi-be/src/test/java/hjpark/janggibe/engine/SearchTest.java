@@ -0,0 +1,46 @@
+package hjpark.janggibe.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchTest {
+
+    private final Search search = new Search(16);
+
+    @Test
+    void capturesKingWhenPossible() {
+        Position position = new Position();
+        int side = Fen.parse("3K5/9/9/9/9/9/9/9/4k4/4R4 r", position);
+
+        Search.Result result = search.search(position, side, 1000, 8);
+
+        assertEquals(MoveGenerator.encode(Position.square(9, 4), Position.square(8, 4)), result.getMove());
+        assertTrue(result.getScore() >= Search.MATE - Search.MAX_PLY);
+    }
+
+    @Test
+    void winsUndefendedPiece() {
+        Position position = new Position();
+        int side = Fen.parse("4K4/9/9/9/4R4/9/9/4c4/9/3k5 r", position);
+
+        Search.Result result = search.search(position, side, 1000, 6);
+
+        assertEquals(MoveGenerator.encode(Position.square(4, 4), Position.square(7, 4)), result.getMove());
+    }
+
+    @Test
+    void respectsTimeBudgetAndLeavesRootUntouched() {
+        Position position = new Position();
+        int side = Fen.parse(Fen.INITIAL, position);
+        long key = position.key();
+
+        Search.Result result = search.search(position, side, 200, Search.MAX_PLY);
+
+        assertTrue(result.hasMove());
+        assertTrue(result.getDepth() >= 1);
+        assertTrue(result.getNanos() < 1_000_000_000L, result.toString());
+        assertEquals(key, position.key());
+        assertEquals(Fen.INITIAL, Fen.format(position, side));
+    }
+}
@@ -0,0 +1,73 @@
+package hjpark.janggibe.engine;
+
+import hjpark.janggibe.model.GameBoard;
+import hjpark.janggibe.model.Piece;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZobristTest {
+
+    @Test
+    void incrementalKeyMatchesFullRecomputeDuringPlayouts() {
+        Random random = new Random(11);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (int game = 0; game < 50; game++) {
+            Position position = new Position();
+            Fen.parse(Fen.INITIAL, position);
+            for (int ply = 0; ply < 120; ply++) {
+                int count = MoveGenerator.generate(position, position.getSideToMove(), moves);
+                if (count == 0) {
+                    break;
+                }
+                int move = moves[random.nextInt(count)];
+                long before = position.key();
+                int captured = position.makeMove(MoveGenerator.from(move), MoveGenerator.to(move));
+                assertEquals(Zobrist.compute(position), position.key());
+
+                position.unmakeMove(MoveGenerator.from(move), MoveGenerator.to(move), captured);
+                assertEquals(before, position.key());
+                position.makeMove(MoveGenerator.from(move), MoveGenerator.to(move));
+                if (PieceCodes.type(captured) == PieceCodes.KING) {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Test
+    void transposedMoveOrdersReachSameKey() {
+        GameBoard a = new GameBoard();
+        a.initializeBoard();
+        GameBoard b = a.copy();
+
+        // 한: 졸 두 개, 초: 졸 두 개를 서로 다른 순서로
+        a.movePiece(3, 0, 4, 0);
+        a.movePiece(6, 0, 5, 0);
+        a.movePiece(3, 8, 4, 8);
+        a.movePiece(6, 8, 5, 8);
+
+        b.movePiece(3, 8, 4, 8);
+        b.movePiece(6, 8, 5, 8);
+        b.movePiece(3, 0, 4, 0);
+        b.movePiece(6, 0, 5, 0);
+
+        assertEquals(a.getZobristKey(), b.getZobristKey());
+    }
+
+    @Test
+    void sideToMoveChangesKey() {
+        GameBoard board = new GameBoard();
+        board.initializeBoard();
+        long redToMove = board.getZobristKey();
+
+        board.setSideToMove(Piece.PieceColor.BLUE);
+        assertNotEquals(redToMove, board.getZobristKey());
+        assertEquals(Zobrist.compute(board.getPosition()), board.getZobristKey());
+
+        board.setSideToMove(Piece.PieceColor.RED);
+        assertEquals(redToMove, board.getZobristKey());
+    }
+}
@@ -0,0 +1,56 @@
+package hjpark.janggibe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hjpark.janggibe.engine.Fen;
+import hjpark.janggibe.model.GameBoard;
+import hjpark.janggibe.model.Piece;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardCodecTest {
+
+    private final GameLogicService compact = new GameLogicService(new ObjectMapper(), "compact");
+    private final GameLogicService json = new GameLogicService(new ObjectMapper(), "json");
+
+    @Test
+    void compactRoundTripKeepsPiecesAndCaptures() {
+        GameBoard board = playedBoard();
+        String encoded = compact.serializeBoard(board);
+        assertTrue(encoded.startsWith("c1;"), encoded);
+
+        GameBoard decoded = compact.deserializeBoard(encoded);
+        assertEquals(Fen.formatBoard(board.getPosition()), Fen.formatBoard(decoded.getPosition()));
+        assertEquals(board.getCapturedPieces(), decoded.getCapturedPieces());
+    }
+
+    @Test
+    void legacyJsonRowsAreStillReadable() {
+        GameBoard board = playedBoard();
+        String legacy = json.serializeBoard(board);
+        assertTrue(legacy.startsWith("{"));
+
+        GameBoard decoded = compact.deserializeBoard(legacy);
+        assertEquals(Fen.formatBoard(board.getPosition()), Fen.formatBoard(decoded.getPosition()));
+        assertEquals(board.getCapturedPieces(), decoded.getCapturedPieces());
+        assertTrue(compact.serializeBoard(board).length() * 20 < legacy.length());
+    }
+
+    @Test
+    void unknownFormatIsRejected() {
+        assertThrows(RuntimeException.class, () -> compact.deserializeBoard("x9;??"));
+        assertThrows(RuntimeException.class, () -> compact.deserializeBoard("c1;RHEA1AEHR"));
+    }
+
+    private static GameBoard playedBoard() {
+        GameBoard board = new GameBoard();
+        board.initializeBoard();
+        // 규칙 검사 없이 잡기만 재현: 한 포가 초 병을, 초 포가 한 포를 잡음
+        board.movePiece(2, 1, 6, 0);
+        board.movePiece(7, 1, 2, 7);
+        board.movePiece(0, 0, 2, 0);
+        assertEquals(2, board.getCapturedPieces().size());
+        assertEquals(Piece.PieceType.CANNON, board.getCapturedPieces().get(1).getType());
+        return board;
+    }
+}
@@ -0,0 +1,69 @@
+package hjpark.janggibe.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameCommandExecutorTest {
+
+    private final GameCommandExecutor executor = new GameCommandExecutor(4, 10_000);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdown();
+    }
+
+    @Test
+    void commandsForSameGameDoNotInterleave() throws Exception {
+        int[] counter = new int[1];
+        int threads = 8;
+        int perThread = 2_000;
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(callers.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    // 읽고-쓰기 사이에 다른 명령이 끼어들면 증가분을 잃는다
+                    executor.execute(42L, () -> {
+                        int value = counter[0];
+                        Thread.yield();
+                        counter[0] = value + 1;
+                    });
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        callers.shutdown();
+
+        assertEquals(threads * perThread, counter[0]);
+    }
+
+    @Test
+    void commandExceptionReachesCaller() {
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> executor.execute(7L, () -> {
+                    throw new RuntimeException("유효하지 않은 이동입니다.");
+                }));
+        assertEquals("유효하지 않은 이동입니다.", thrown.getMessage());
+    }
+
+    @Test
+    void nestedCommandForSameGameRunsInline() {
+        String result = executor.execute(3L, () -> executor.execute(3L, () -> "ok"));
+        assertEquals("ok", result);
+    }
+}
@@ -0,0 +1,137 @@
+package hjpark.janggibe.service;
+
+import hjpark.janggibe.model.Game;
+import hjpark.janggibe.model.MatchResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MatchmakingServiceTest {
+
+    private final Queue<Game> games = new ConcurrentLinkedQueue<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    // DB 없이 만들어진 게임만 모으는 GameService (생성자 인자가 바뀌어도 이 테스트는 그대로)
+    private final GameService gameService = mock(GameService.class);
+
+    @BeforeEach
+    void setUp() {
+        when(gameService.createMatchedGame(anyString(), anyString())).thenAnswer(invocation -> {
+            Game game = Game.builder()
+                    .id(ids.incrementAndGet())
+                    .redPlayerName(invocation.getArgument(0))
+                    .bluePlayerName(invocation.getArgument(1))
+                    .gameStatus(Game.GameStatus.IN_PROGRESS)
+                    .build();
+            games.add(game);
+            return game;
+        });
+    }
+
+    @Test
+    void concurrentPlayersArePairedExactlyOnce() throws Exception {
+        MatchmakingService matchmaking = new MatchmakingService(gameService, 200, Duration.ofMinutes(1));
+        int threads = 8;
+        int perThread = 500;
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(callers.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    matchmaking.enqueue("p" + thread + "-" + i, null);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        callers.shutdown();
+
+        Set<String> paired = new HashSet<>();
+        for (Game game : games) {
+            assertNotEquals(game.getRedPlayerName(), game.getBluePlayerName());
+            assertTrue(paired.add(game.getRedPlayerName()), "두 번 짝지어짐: " + game.getRedPlayerName());
+            assertTrue(paired.add(game.getBluePlayerName()), "두 번 짝지어짐: " + game.getBluePlayerName());
+        }
+        // 한 구간에 짝수 명이 들어왔으므로 남는 사람이 없어야 함
+        assertEquals(0, matchmaking.waitingCount());
+        assertEquals(threads * perThread, paired.size());
+    }
+
+    @Test
+    void firstWaiterPlaysRed() {
+        MatchmakingService matchmaking = new MatchmakingService(gameService, 200, Duration.ofMinutes(1));
+
+        assertEquals(MatchResult.Status.WAITING, matchmaking.enqueue("a", null).getStatus());
+        assertEquals(MatchResult.Status.WAITING, matchmaking.enqueue("a", null).getStatus()); // 자리 유지
+        MatchResult result = matchmaking.enqueue("b", null);
+
+        assertEquals(MatchResult.Status.MATCHED, result.getStatus());
+        assertEquals("a", result.getGame().getRedPlayerName());
+        assertEquals("b", result.getGame().getBluePlayerName());
+        assertEquals(0, matchmaking.waitingCount());
+    }
+
+    @Test
+    void ratingBucketsAreSeparate() {
+        MatchmakingService matchmaking = new MatchmakingService(gameService, 200, Duration.ofMinutes(1));
+
+        matchmaking.enqueue("low", 1150);
+        assertEquals(MatchResult.Status.WAITING, matchmaking.enqueue("high", 1450).getStatus());
+        assertEquals(MatchResult.Status.WAITING, matchmaking.enqueue("unrated", null).getStatus());
+        assertEquals("low", matchmaking.enqueue("near", 1199).getGame().getRedPlayerName());
+        assertEquals(2, matchmaking.waitingCount());
+    }
+
+    @Test
+    void cancelledAndExpiredTicketsAreNotMatched() throws InterruptedException {
+        MatchmakingService matchmaking = new MatchmakingService(gameService, 200, Duration.ofMillis(1));
+
+        matchmaking.enqueue("cancelled", null);
+        assertTrue(matchmaking.cancel("cancelled"));
+        assertFalse(matchmaking.cancel("cancelled"));
+
+        matchmaking.enqueue("stale", null);
+        Thread.sleep(5);
+        assertEquals(MatchResult.Status.WAITING, matchmaking.enqueue("fresh", null).getStatus());
+        assertTrue(games.isEmpty());
+        assertEquals(1, matchmaking.waitingCount());
+    }
+
+    @Test
+    void opponentIsRequeuedWhenGameCreationFails() {
+        MatchmakingService matchmaking = new MatchmakingService(gameService, 200, Duration.ofMinutes(1));
+        matchmaking.enqueue("a", null);
+
+        when(gameService.createMatchedGame("a", "b")).thenThrow(new RuntimeException("DB 오류"));
+        assertThrows(RuntimeException.class, () -> matchmaking.enqueue("b", null));
+
+        // a는 계속 기다리고 있어서 다음 사람과 짝지어짐
+        assertEquals(1, matchmaking.waitingCount());
+        MatchResult result = matchmaking.enqueue("c", null);
+        assertEquals(MatchResult.Status.MATCHED, result.getStatus());
+        assertEquals("a", result.getGame().getRedPlayerName());
+    }
+}
@@ -0,0 +1,109 @@
+package hjpark.janggibe.service;
+
+import hjpark.janggibe.config.RedisConfig;
+import hjpark.janggibe.model.Game;
+import hjpark.janggibe.model.GameBoard;
+import hjpark.janggibe.model.LiveGame;
+import hjpark.janggibe.model.Piece;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisSharedGameStoreTest {
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisSharedGameStore store;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        store = new RedisSharedGameStore(new RedisConfig().gameStateRedisTemplate(connectionFactory), Duration.ofMinutes(1));
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void clear() {
+        store.remove(1L);
+    }
+
+    @Test
+    void encodedStateRoundTrips() {
+        LiveGame liveGame = liveGame();
+        liveGame.getBoard().movePiece(3, 0, 4, 0);
+        liveGame.getBoard().movePiece(0, 0, 9, 0);
+        liveGame.getGame().setCurrentTurn(Piece.PieceColor.BLUE);
+
+        byte[] encoded = SharedGameStateCodec.encode(liveGame);
+        store.put(1L, encoded);
+
+        LiveGame restored = liveGame();
+        SharedGameStateCodec.decodeInto(store.get(1L), restored);
+        assertEquals(Piece.PieceColor.BLUE, restored.getGame().getCurrentTurn());
+        assertEquals("초나라", restored.getGame().getBluePlayerName());
+        assertNull(restored.getGame().getWinnerName());
+        assertEquals(Piece.PieceType.CHARIOT, restored.getBoard().getPiece(9, 0).getType());
+        assertNull(restored.getBoard().getPiece(0, 0));
+        assertEquals(1, restored.getBoard().getCapturedPieces().size());
+        assertArrayEquals(encoded, SharedGameStateCodec.encode(restored));
+    }
+
+    @Test
+    void compareAndSetOnlyAppliesToExpectedState() {
+        byte[] initial = SharedGameStateCodec.encode(liveGame());
+        assertTrue(store.putIfAbsent(1L, initial));
+        assertFalse(store.putIfAbsent(1L, initial));
+
+        LiveGame moved = liveGame();
+        moved.getBoard().movePiece(3, 0, 4, 0);
+        byte[] first = SharedGameStateCodec.encode(moved);
+        moved.getBoard().movePiece(6, 0, 5, 0);
+        byte[] second = SharedGameStateCodec.encode(moved);
+
+        assertTrue(store.compareAndSet(1L, initial, first));
+        // 같은 상태를 읽고 늦게 도착한 다른 노드의 이동은 거절됨
+        assertFalse(store.compareAndSet(1L, initial, second));
+        assertArrayEquals(first, store.get(1L));
+
+        assertFalse(store.compareAndDelete(1L, initial));
+        assertTrue(store.compareAndDelete(1L, first));
+        assertNull(store.get(1L));
+    }
+
+    private static LiveGame liveGame() {
+        GameBoard board = new GameBoard();
+        board.initializeBoard();
+        Game game = Game.builder()
+                .id(1L)
+                .redPlayerName("한나라")
+                .bluePlayerName("초나라")
+                .currentTurn(Piece.PieceColor.RED)
+                .gameStatus(Game.GameStatus.IN_PROGRESS)
+                .build();
+        return LiveGame.of(game, board);
+    }
+}
@@ -0,0 +1,70 @@
+package hjpark.janggibe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hjpark.janggibe.engine.Position;
+import hjpark.janggibe.model.Piece.PieceColor;
+import hjpark.janggibe.model.Piece.PieceType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayAuditServiceTest {
+
+    private final ReplayAuditService service =
+            new ReplayAuditService(null, new GameLogicService(new ObjectMapper()), 100, 10);
+
+    @Test
+    void acceptsRecordedGame() {
+        ReplayAuditService.GameMoves game = new ReplayAuditService.GameMoves(1);
+        game.add(move(1, 3, 4, 4, 4, PieceType.SOLDIER, PieceColor.RED, null));
+        game.add(move(2, 6, 4, 5, 4, PieceType.SOLDIER, PieceColor.BLUE, null));
+        game.add(move(3, 4, 4, 5, 4, PieceType.SOLDIER, PieceColor.RED, PieceType.SOLDIER));
+
+        assertNull(service.replay(game, new Position()));
+    }
+
+    @Test
+    void flagsMoveTheRulesReject() {
+        ReplayAuditService.GameMoves game = new ReplayAuditService.GameMoves(2);
+        // 상에 막힌 마 (0,2)를 지나 (1,3)으로
+        game.add(move(1, 0, 1, 1, 3, PieceType.HORSE, PieceColor.RED, null));
+
+        ReplayAuditService.Problem problem = service.replay(game, new Position());
+        assertNotNull(problem);
+        assertEquals(1, problem.getMoveNumber());
+    }
+
+    @Test
+    void flagsGapInMoveNumbersAndWrongCapture() {
+        ReplayAuditService.GameMoves gap = new ReplayAuditService.GameMoves(3);
+        gap.add(move(1, 3, 4, 4, 4, PieceType.SOLDIER, PieceColor.RED, null));
+        gap.add(move(3, 6, 4, 5, 4, PieceType.SOLDIER, PieceColor.BLUE, null));
+        assertEquals(3, service.replay(gap, new Position()).getMoveNumber());
+
+        ReplayAuditService.GameMoves capture = new ReplayAuditService.GameMoves(4);
+        capture.add(move(1, 3, 4, 4, 4, PieceType.SOLDIER, PieceColor.RED, PieceType.CANNON));
+        assertEquals(1, service.replay(capture, new Position()).getMoveNumber());
+    }
+
+    @Test
+    void flagsMoveAfterGameEnded() {
+        ReplayAuditService.GameMoves game = new ReplayAuditService.GameMoves(5);
+        // 가운데 줄의 졸/병을 치워 빅장을 만들고, 파랑이 풀지 않아 무승부로 끝난 뒤에 수가 더 있음
+        game.add(move(1, 3, 4, 4, 4, PieceType.SOLDIER, PieceColor.RED, null));
+        game.add(move(2, 6, 4, 5, 4, PieceType.SOLDIER, PieceColor.BLUE, null));
+        game.add(move(3, 4, 4, 5, 4, PieceType.SOLDIER, PieceColor.RED, PieceType.SOLDIER));
+        game.add(move(4, 6, 0, 5, 0, PieceType.SOLDIER, PieceColor.BLUE, null));
+        game.add(move(5, 5, 4, 5, 3, PieceType.SOLDIER, PieceColor.RED, null));
+        game.add(move(6, 5, 0, 4, 0, PieceType.SOLDIER, PieceColor.BLUE, null));
+        game.add(move(7, 3, 2, 4, 2, PieceType.SOLDIER, PieceColor.RED, null));
+
+        ReplayAuditService.Problem problem = service.replay(game, new Position());
+        assertNotNull(problem);
+        assertEquals(7, problem.getMoveNumber());
+    }
+
+    private static ReplayAuditService.ArchivedMove move(int number, int fromRow, int fromCol, int toRow, int toCol,
+                                                        PieceType type, PieceColor color, PieceType captured) {
+        return new ReplayAuditService.ArchivedMove(number, fromRow, fromCol, toRow, toCol, type, color, captured);
+    }
+}
@@ -0,0 +1,91 @@
+package hjpark.janggibe.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    // 칸 8개 x 5ms: 40ms마다 한 바퀴라 대부분의 예약이 여러 바퀴를 돈다
+    private final TimingWheel wheel = new TimingWheel("test-wheel", Duration.ofMillis(5), 8);
+
+    @AfterEach
+    void tearDown() {
+        wheel.close();
+    }
+
+    @Test
+    void expiresInDeadlineOrderAndNeverEarly() throws InterruptedException {
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        long start = System.nanoTime();
+        long[] firedAfter = new long[3];
+        int[] delays = {120, 30, 75};
+        for (int i = 0; i < delays.length; i++) {
+            int id = i;
+            wheel.schedule(() -> {
+                firedAfter[id] = System.nanoTime() - start;
+                order.add(id);
+                done.countDown();
+            }, delays[i], TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 2, 0), order);
+        for (int i = 0; i < delays.length; i++) {
+            assertTrue(firedAfter[i] >= TimeUnit.MILLISECONDS.toNanos(delays[i]), "일찍 실행됨: " + i);
+        }
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void cancelledTimeoutsDoNotRun() throws InterruptedException {
+        AtomicInteger fired = new AtomicInteger();
+        CountDownLatch kept = new CountDownLatch(1);
+        TimingWheel.Timeout cancelled = wheel.schedule(fired::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        wheel.schedule(kept::countDown, 60, TimeUnit.MILLISECONDS);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertTrue(kept.await(2, TimeUnit.SECONDS));
+        assertEquals(0, fired.get());
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void handlesManyTimeoutsFromManyThreads() throws InterruptedException {
+        int threads = 4;
+        int perThread = 25_000;
+        CountDownLatch expired = new CountDownLatch(threads * perThread / 2);
+        AtomicInteger wrong = new AtomicInteger();
+        Thread[] schedulers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            schedulers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    boolean keep = (i & 1) == 0;
+                    TimingWheel.Timeout timeout = wheel.schedule(keep ? expired::countDown : wrong::incrementAndGet,
+                            10 + i % 200, TimeUnit.MILLISECONDS);
+                    if (!keep) {
+                        timeout.cancel();
+                    }
+                }
+            });
+            schedulers[t].start();
+        }
+        for (Thread scheduler : schedulers) {
+            scheduler.join();
+        }
+
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+        assertEquals(0, wrong.get());
+        assertEquals(0, wheel.pending());
+    }
+}
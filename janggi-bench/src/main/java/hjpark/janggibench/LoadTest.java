@@ -0,0 +1,252 @@
+package hjpark.janggibench;
+
+import hjpark.janggibe.JanggiBeApplication;
+import hjpark.janggibe.model.Game;
+import hjpark.janggibe.service.GameService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * GameController에 HTTP 부하를 걸어 플랫폼 스레드 모드와 가상 스레드 모드의 처리량/p99를 비교한다.
+ * <p>
+ * 모드마다 앱을 임의 포트로 띄우고(기본 H2), 대기 목록/게임 조회/기보 조회를 섞어 보낸다.
+ * 동시 요청 수는 --concurrency개로 고정하고, 각 요청이 끝나면 바로 다음 요청을 보낸다.
+ * 가상 스레드 모드는 Java 21 이상에서만 돌고, 그보다 낮으면 건너뛴다.
+ * <pre>
+ * mvn -B verify -Pload -pl janggi-bench -am -DskipTests -Dload.args="--concurrency=400 --seconds=20"
+ * # MySQL 등 다른 DB: 나머지 인자는 Spring 속성으로 넘어간다
+ * -Dload.args="--mode=virtual spring.datasource.url=jdbc:mysql://localhost:3306/janggi spring.datasource.hikari.maximum-pool-size=10"
+ * </pre>
+ */
+public final class LoadTest {
+
+    private static final int WAITING_GAMES = 50;
+    private static final int ACTIVE_GAMES = 50;
+
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final List<String> springProperties;
+
+    private LoadTest(int concurrency, Duration warmup, Duration duration, List<String> springProperties) {
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.springProperties = springProperties;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = 200;
+        int warmupSeconds = 5;
+        int seconds = 15;
+        String mode = "both";
+        List<String> springProperties = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--concurrency=")) {
+                concurrency = Integer.parseInt(arg.substring("--concurrency=".length()));
+            } else if (arg.startsWith("--warmup=")) {
+                warmupSeconds = Integer.parseInt(arg.substring("--warmup=".length()));
+            } else if (arg.startsWith("--seconds=")) {
+                seconds = Integer.parseInt(arg.substring("--seconds=".length()));
+            } else if (arg.startsWith("--mode=")) {
+                mode = arg.substring("--mode=".length());
+            } else {
+                springProperties.add(arg);
+            }
+        }
+
+        LoadTest loadTest = new LoadTest(concurrency, Duration.ofSeconds(warmupSeconds), Duration.ofSeconds(seconds), springProperties);
+        List<Result> results = new ArrayList<>();
+        if (!mode.equals("virtual")) {
+            results.add(loadTest.run(false));
+        }
+        if (!mode.equals("platform")) {
+            if (Runtime.version().feature() >= 21) {
+                results.add(loadTest.run(true));
+            } else {
+                System.out.println("가상 스레드 모드는 Java 21 이상이 필요해 건너뜁니다. (현재 " + Runtime.version() + ")");
+            }
+        }
+
+        System.out.printf("%n동시 요청 %d개, 측정 %d초%n", concurrency, seconds);
+        results.forEach(System.out::println);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1;MODE=MySQL",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.devtools.restart.enabled=false",
+                "decorator.datasource.p6spy.enable-logging=false",
+                "logging.level.root=WARN"));
+        properties.addAll(springProperties);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(JanggiBeApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(properties.toArray(String[]::new))
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            long[] activeIds = seed(context.getBean(GameService.class));
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            String base = "http://localhost:" + port + "/api/game";
+
+            System.out.printf("[%s] 워밍업 %d초...%n", mode, warmup.toSeconds());
+            drive(client, base, activeIds, warmup);
+            System.out.printf("[%s] 측정 %d초...%n", mode, duration.toSeconds());
+            Worker[] workers = drive(client, base, activeIds, duration);
+            return Result.of(mode, workers, duration);
+        }
+    }
+
+    private static long[] seed(GameService gameService) {
+        for (int i = 0; i < WAITING_GAMES; i++) {
+            gameService.createGame("waiting-" + i, "load " + i);
+        }
+        long[] activeIds = new long[ACTIVE_GAMES];
+        for (int i = 0; i < ACTIVE_GAMES; i++) {
+            Game game = gameService.createGame("red-" + i, "load active " + i);
+            gameService.joinGame(game.getId(), "blue-" + i);
+            activeIds[i] = game.getId();
+        }
+        return activeIds;
+    }
+
+    private Worker[] drive(HttpClient client, String base, long[] activeIds, Duration length) {
+        long deadline = System.nanoTime() + length.toNanos();
+        Worker[] workers = new Worker[concurrency];
+        CompletableFuture<?>[] done = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            workers[i] = new Worker(client, base, activeIds, deadline);
+            done[i] = workers[i].start();
+        }
+        CompletableFuture.allOf(done).join();
+        return workers;
+    }
+
+    /**
+     * 요청 하나가 끝나면 다음 요청을 보내는 연쇄 하나. 콜백이 순서대로 이어지므로 기록에 동기화가 필요 없다.
+     */
+    private static final class Worker {
+        private final HttpClient client;
+        private final String base;
+        private final long[] activeIds;
+        private final long deadline;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        Worker(HttpClient client, String base, long[] activeIds, long deadline) {
+            this.client = client;
+            this.base = base;
+            this.activeIds = activeIds;
+            this.deadline = deadline;
+        }
+
+        CompletableFuture<Void> start() {
+            next();
+            return done;
+        }
+
+        private void next() {
+            if (System.nanoTime() >= deadline) {
+                done.complete(null);
+                return;
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(nextPath()))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        record(System.nanoTime() - start, error == null && response.statusCode() == 200);
+                        next();
+                    });
+        }
+
+        private String nextPath() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int pick = random.nextInt(10);
+            long gameId = activeIds[random.nextInt(activeIds.length)];
+            if (pick < 4) {
+                return base + "/waiting";
+            }
+            if (pick < 8) {
+                return base + "/" + gameId;
+            }
+            return base + "/" + gameId + "/history";
+        }
+
+        private void record(long nanos, boolean ok) {
+            if (!ok) {
+                errors++;
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+    }
+
+    private record Result(String mode, long requests, long errors, double throughput,
+                          double p50Millis, double p99Millis, double maxMillis) {
+
+        static Result of(String mode, Worker[] workers, Duration duration) {
+            int total = 0;
+            long errors = 0;
+            for (Worker worker : workers) {
+                total += worker.count;
+                errors += worker.errors;
+            }
+            long[] all = new long[total];
+            int offset = 0;
+            for (Worker worker : workers) {
+                System.arraycopy(worker.latencies, 0, all, offset, worker.count);
+                offset += worker.count;
+            }
+            Arrays.sort(all);
+
+            double seconds = duration.toNanos() / 1_000_000_000.0;
+            return new Result(mode, total, errors, total / seconds,
+                    percentile(all, 0.50), percentile(all, 0.99), total == 0 ? 0 : all[total - 1] / 1_000_000.0);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-8s %,10d req  %,9.0f req/s  p50 %7.2f ms  p99 %8.2f ms  max %8.2f ms  errors %,d",
+                    mode, requests, throughput, p50Millis, p99Millis, maxMillis, errors);
+        }
+    }
+}
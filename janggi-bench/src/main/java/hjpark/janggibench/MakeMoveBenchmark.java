@@ -0,0 +1,75 @@
+package hjpark.janggibench;
+
+import hjpark.janggibe.JanggiBeApplication;
+import hjpark.janggibe.model.Game;
+import hjpark.janggibe.service.GameService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * H2 인메모리 DB 위에서 GameService.makeMove 전체 경로(조회, 검증, 저장)를 측정한다.
+ * 양쪽 마가 나갔다 돌아오는 네 수를 반복한다. writeBehind=true면 moves 행을 쓰기 지연 큐로 모아서 쓴다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MakeMoveBenchmark {
+
+    private static final String RED = "red-player";
+    private static final String BLUE = "blue-player";
+
+    // {player, fromRow, fromCol, toRow, toCol}
+    private static final Object[][] CYCLE = {
+            {RED, 0, 1, 2, 2},
+            {BLUE, 9, 1, 7, 2},
+            {RED, 2, 2, 0, 1},
+            {BLUE, 7, 2, 9, 1}
+    };
+
+    @Param({"false", "true"})
+    public boolean writeBehind;
+
+    private ConfigurableApplicationContext context;
+    private GameService gameService;
+    private Long gameId;
+    private int ply;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(JanggiBeApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.devtools.restart.enabled=false",
+                        "decorator.datasource.p6spy.enable-logging=false",
+                        "logging.level.root=WARN",
+                        "janggi.moves.write-behind.enabled=" + writeBehind)
+                .run();
+        gameService = context.getBean(GameService.class);
+
+        Game game = gameService.createGame(RED, "bench");
+        gameService.joinGame(game.getId(), BLUE);
+        gameId = game.getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Game makeMove() {
+        Object[] move = CYCLE[ply++ & 3];
+        return gameService.makeMove(gameId, (String) move[0],
+                (int) move[1], (int) move[2], (int) move[3], (int) move[4]);
+    }
+}
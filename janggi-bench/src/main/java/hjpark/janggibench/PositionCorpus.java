@@ -0,0 +1,86 @@
+package hjpark.janggibench;
+
+import hjpark.janggibe.engine.MoveGenerator;
+import hjpark.janggibe.engine.PieceCodes;
+import hjpark.janggibe.engine.Position;
+import hjpark.janggibe.model.GameBoard;
+import hjpark.janggibe.model.Piece;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크용 중반 국면 모음.
+ * <p>
+ * 초기 배치에서 고정 시드로 20~60수를 둔 국면들이다. 왕을 잡는 수는 고르지 않으므로 모두 대국이 진행 중인 국면이다.
+ */
+public final class PositionCorpus {
+
+    public static final int DEFAULT_SIZE = 64;
+    private static final long SEED = 20250101L;
+
+    private final List<GameBoard> boards;
+    private final List<Piece.PieceColor> sidesToMove;
+
+    private PositionCorpus(List<GameBoard> boards, List<Piece.PieceColor> sidesToMove) {
+        this.boards = boards;
+        this.sidesToMove = sidesToMove;
+    }
+
+    public static PositionCorpus midGame() {
+        return midGame(DEFAULT_SIZE);
+    }
+
+    public static PositionCorpus midGame(int size) {
+        Random random = new Random(SEED);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        List<GameBoard> boards = new ArrayList<>(size);
+        List<Piece.PieceColor> sides = new ArrayList<>(size);
+
+        while (boards.size() < size) {
+            GameBoard board = new GameBoard();
+            board.initializeBoard();
+            Position position = board.getPosition();
+            int side = PieceCodes.RED;
+            int plies = 20 + random.nextInt(41);
+            boolean playable = true;
+
+            for (int ply = 0; ply < plies && playable; ply++) {
+                int count = MoveGenerator.generate(position, side, moves);
+                int candidates = 0;
+                for (int i = 0; i < count; i++) {
+                    if (PieceCodes.type(position.get(MoveGenerator.to(moves[i]))) != PieceCodes.KING) {
+                        moves[candidates++] = moves[i];
+                    }
+                }
+                if (candidates == 0) {
+                    playable = false;
+                    continue;
+                }
+                int move = moves[random.nextInt(candidates)];
+                board.movePiece(Position.row(MoveGenerator.from(move)), Position.col(MoveGenerator.from(move)),
+                        Position.row(MoveGenerator.to(move)), Position.col(MoveGenerator.to(move)));
+                side = PieceCodes.opponent(side);
+            }
+
+            if (playable) {
+                boards.add(board);
+                sides.add(PieceCodes.toPieceColor(side));
+            }
+        }
+        return new PositionCorpus(boards, sides);
+    }
+
+    public int size() {
+        return boards.size();
+    }
+
+    public GameBoard board(int index) {
+        return boards.get(index);
+    }
+
+    public Piece.PieceColor sideToMove(int index) {
+        return sidesToMove.get(index);
+    }
+}
@@ -0,0 +1,100 @@
+package hjpark.janggibench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hjpark.janggibe.engine.Position;
+import hjpark.janggibe.model.GameBoard;
+import hjpark.janggibe.model.Piece;
+import hjpark.janggibe.service.GameLogicService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameLogicService 규칙 검사 벤치마크. 국면 하나씩 돌아가며 측정한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RulesBenchmark {
+
+    private GameLogicService gameLogicService;
+    private PositionCorpus corpus;
+
+    // isValidMove 입력: [국면, fromRow, fromCol, toRow, toCol] (유효/무효 수 섞임)
+    private int[][] moveSamples;
+    // getValidMoves 입력: [국면, row, col] (말이 있는 칸)
+    private int[][] pieceSamples;
+
+    private int moveIndex;
+    private int pieceIndex;
+    private int boardIndex;
+
+    @Setup
+    public void setUp() {
+        gameLogicService = new GameLogicService(new ObjectMapper());
+        corpus = PositionCorpus.midGame();
+
+        Random random = new Random(42);
+        moveSamples = new int[1024][];
+        for (int i = 0; i < moveSamples.length; i++) {
+            int b = random.nextInt(corpus.size());
+            GameBoard board = corpus.board(b);
+            int[] piece = randomPiece(board, corpus.sideToMove(b), random);
+            List<int[]> targets = gameLogicService.getValidMoves(board, piece[0], piece[1]);
+            int[] to = !targets.isEmpty() && random.nextBoolean()
+                    ? targets.get(random.nextInt(targets.size()))
+                    : new int[]{random.nextInt(Position.ROWS), random.nextInt(Position.COLS)};
+            moveSamples[i] = new int[]{b, piece[0], piece[1], to[0], to[1]};
+        }
+
+        pieceSamples = new int[1024][];
+        for (int i = 0; i < pieceSamples.length; i++) {
+            int b = random.nextInt(corpus.size());
+            int[] piece = randomPiece(corpus.board(b), corpus.sideToMove(b), random);
+            pieceSamples[i] = new int[]{b, piece[0], piece[1]};
+        }
+    }
+
+    private static int[] randomPiece(GameBoard board, Piece.PieceColor color, Random random) {
+        while (true) {
+            int row = random.nextInt(Position.ROWS);
+            int col = random.nextInt(Position.COLS);
+            Piece piece = board.getPiece(row, col);
+            if (piece != null && piece.getColor() == color) {
+                return new int[]{row, col};
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean isValidMove() {
+        int[] sample = moveSamples[moveIndex++ & (moveSamples.length - 1)];
+        int b = sample[0];
+        return gameLogicService.isValidMove(corpus.board(b), sample[1], sample[2], sample[3], sample[4],
+                corpus.sideToMove(b));
+    }
+
+    @Benchmark
+    public List<int[]> getValidMoves() {
+        int[] sample = pieceSamples[pieceIndex++ & (pieceSamples.length - 1)];
+        return gameLogicService.getValidMoves(corpus.board(sample[0]), sample[1], sample[2]);
+    }
+
+    @Benchmark
+    public void getAllValidMoves(Blackhole blackhole) {
+        int b = boardIndex++ % corpus.size();
+        blackhole.consume(gameLogicService.getAllValidMoves(corpus.board(b), corpus.sideToMove(b)));
+    }
+
+    @Benchmark
+    public boolean isGameOver() {
+        int b = boardIndex++ % corpus.size();
+        return gameLogicService.isGameOver(corpus.board(b), corpus.sideToMove(b));
+    }
+}
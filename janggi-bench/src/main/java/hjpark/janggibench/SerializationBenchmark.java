@@ -0,0 +1,53 @@
+package hjpark.janggibench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hjpark.janggibe.model.GameBoard;
+import hjpark.janggibe.service.GameLogicService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 보드 직렬화/역직렬화와 GameBoard.copy() 벤치마크. codec으로 압축 형식과 기존 JSON 형식을 비교한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    @Param({"compact", "json"})
+    private String codec;
+
+    private GameLogicService gameLogicService;
+    private PositionCorpus corpus;
+    private String[] serialized;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        gameLogicService = new GameLogicService(new ObjectMapper(), codec);
+        corpus = PositionCorpus.midGame();
+        serialized = new String[corpus.size()];
+        for (int i = 0; i < corpus.size(); i++) {
+            serialized[i] = gameLogicService.serializeBoard(corpus.board(i));
+        }
+    }
+
+    @Benchmark
+    public String serializeBoard() {
+        return gameLogicService.serializeBoard(corpus.board(index++ % corpus.size()));
+    }
+
+    @Benchmark
+    public GameBoard deserializeBoard() {
+        return gameLogicService.deserializeBoard(serialized[index++ % serialized.length]);
+    }
+
+    @Benchmark
+    public GameBoard copy() {
+        return corpus.board(index++ % corpus.size()).copy();
+    }
+}
@@ -0,0 +1,118 @@
+// 서버의 /ws(STOMP) 엔드포인트에 붙는 최소 클라이언트.
+// SUBSCRIBE/MESSAGE만 쓰므로 별도 라이브러리 없이 WebSocket 위에 프레임을 직접 주고받는다.
+
+type MessageHandler = (body: any) => void;
+
+interface Subscription {
+  id: string;
+  destination: string;
+  handler: MessageHandler;
+}
+
+const baseUrl = import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080';
+const wsUrl = baseUrl.replace(/^http/, 'ws') + '/ws';
+const RECONNECT_DELAY = 3000;
+
+let socket: WebSocket | null = null;
+let connected = false;
+let reconnectTimer: number | null = null;
+let nextId = 0;
+const subscriptions = new Map<string, Subscription>();
+
+function sendFrame(command: string, headers: Record<string, string>, body = ''): void {
+  if (!socket || socket.readyState !== WebSocket.OPEN) return;
+  const headerLines = Object.entries(headers).map(([key, value]) => `${key}:${value}`);
+  socket.send([command, ...headerLines, '', body].join('\n') + '\0');
+}
+
+function handleFrame(frame: string): void {
+  const bodyIndex = frame.indexOf('\n\n');
+  const head = bodyIndex >= 0 ? frame.substring(0, bodyIndex) : frame;
+  const body = bodyIndex >= 0 ? frame.substring(bodyIndex + 2) : '';
+  const [command, ...headerLines] = head.split('\n');
+  const headers: Record<string, string> = {};
+  for (const line of headerLines) {
+    const colon = line.indexOf(':');
+    if (colon > 0 && !(line.substring(0, colon) in headers)) {
+      headers[line.substring(0, colon)] = line.substring(colon + 1);
+    }
+  }
+
+  if (command === 'CONNECTED') {
+    connected = true;
+    // 재접속이면 기존 구독을 다시 등록
+    subscriptions.forEach(sub => sendFrame('SUBSCRIBE', { id: sub.id, destination: sub.destination }));
+  } else if (command === 'MESSAGE') {
+    const sub = subscriptions.get(headers['subscription']);
+    if (!sub) return;
+    try {
+      sub.handler(JSON.parse(body));
+    } catch (err) {
+      console.error('STOMP 메시지 처리 실패:', err);
+    }
+  } else if (command === 'ERROR') {
+    console.error('STOMP 오류:', headers['message'] || body);
+  }
+}
+
+function connect(): void {
+  if (socket) return;
+
+  socket = new WebSocket(wsUrl);
+  socket.onopen = () => {
+    sendFrame('CONNECT', { 'accept-version': '1.2', host: location.hostname, 'heart-beat': '0,0' });
+  };
+  socket.onmessage = (event: MessageEvent) => {
+    // 한 메시지에 여러 프레임이 올 수 있음 (하트비트 개행은 무시)
+    String(event.data)
+      .split('\0')
+      .map(frame => frame.replace(/^\n+/, ''))
+      .filter(frame => frame.length > 0)
+      .forEach(handleFrame);
+  };
+  socket.onclose = () => {
+    socket = null;
+    connected = false;
+    if (subscriptions.size > 0 && reconnectTimer === null) {
+      reconnectTimer = setTimeout(() => {
+        reconnectTimer = null;
+        connect();
+      }, RECONNECT_DELAY);
+    }
+  };
+}
+
+function disconnect(): void {
+  if (reconnectTimer !== null) {
+    clearTimeout(reconnectTimer);
+    reconnectTimer = null;
+  }
+  if (socket) {
+    sendFrame('DISCONNECT', {});
+    socket.close();
+    socket = null;
+  }
+  connected = false;
+}
+
+// destination을 구독하고, 구독 해제 함수를 돌려준다.
+export function subscribe(destination: string, handler: MessageHandler): () => void {
+  const id = `sub-${nextId++}`;
+  subscriptions.set(id, { id, destination, handler });
+
+  if (connected) {
+    sendFrame('SUBSCRIBE', { id, destination });
+  } else {
+    connect();
+  }
+
+  return () => {
+    if (!subscriptions.delete(id)) return;
+    if (connected) {
+      sendFrame('UNSUBSCRIBE', { id });
+    }
+    if (subscriptions.size === 0) {
+      disconnect();
+    }
+  };
+}
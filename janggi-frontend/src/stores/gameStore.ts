@@ -1,18 +1,23 @@
 import { defineStore } from 'pinia';
 import { ref, computed } from 'vue';
-import type { Game, GameBoard, Move, MoveRequest, Piece, PieceColor } from '@/types/game';
-import { GameStatus } from '@/types/game';
+import type { Game, GameBoard, GameEvent, GameSummary, MatchResult, Move, MoveRequest, Piece, PieceColor, ValidMoveMap } from '@/types/game';
+import { GameEventType, GameStatus } from '@/types/game';
+import { parseBoardState } from '@/utils/boardState';
 import axios from '@/plugins/axios';
+import { subscribe } from '@/plugins/stomp';
 
 export const useGameStore = defineStore('game', () => {
   const currentGame = ref<Game | null>(null);
   const gameBoard = ref<GameBoard | null>(null);
   const selectedPiece = ref<{ row: number; col: number } | null>(null);
   const validMoves = ref<{ row: number; col: number }[]>([]);
+  const legalMoves = ref<ValidMoveMap>({});
   const moveHistory = ref<Move[]>([]);
-  const waitingGames = ref<Game[]>([]);
+  const waitingGames = ref<GameSummary[]>([]);
   const isLoading = ref(false);
   const error = ref<string | null>(null);
+  let unsubscribeGame: (() => void) | null = null;
+  let subscribedGameId: number | null = null;
 
   const isMyTurn = computed(() => {
     if (!currentGame.value) return false;
@@ -74,6 +79,42 @@ export const useGameStore = defineStore('game', () => {
     }
   }
 
+  // 매칭 대기열에 들어간다. 기다리는 동안 같은 요청을 다시 보내면 대기 자리가 유지됨
+  async function requestMatch(playerName: string, rating?: number): Promise<MatchResult> {
+    const response = await axios.post('/api/game/match', { playerName, rating });
+    const result: MatchResult = response.data;
+    if (result.status === 'MATCHED' && result.game) {
+      currentGame.value = result.game;
+      await loadGameBoard();
+    }
+    return result;
+  }
+
+  async function cancelMatch(playerName: string): Promise<void> {
+    try {
+      await axios.post('/api/game/match/cancel', { playerName });
+    } catch (err) {
+      console.error('매칭 취소 실패:', err);
+    }
+  }
+
+  async function addAiOpponent(): Promise<void> {
+    if (!currentGame.value) return;
+
+    try {
+      isLoading.value = true;
+      error.value = null;
+      const response = await axios.post(`/api/game/${currentGame.value.id}/ai`);
+      currentGame.value = response.data;
+      await loadGameBoard();
+    } catch (err: any) {
+      error.value = err.response?.data?.message || 'AI 상대를 추가하지 못했습니다.';
+      throw err;
+    } finally {
+      isLoading.value = false;
+    }
+  }
+
   async function loadGame(gameId: number): Promise<void> {
     try {
       isLoading.value = true;
@@ -94,13 +135,28 @@ export const useGameStore = defineStore('game', () => {
     if (!currentGame.value?.boardState) return;
     
     try {
-      gameBoard.value = JSON.parse(currentGame.value.boardState);
+      gameBoard.value = parseBoardState(currentGame.value.boardState);
+      if (currentGame.value.gameStatus === GameStatus.IN_PROGRESS) {
+        await loadValidMoves(currentGame.value.id);
+      } else {
+        legalMoves.value = {};
+      }
     } catch (err) {
       console.error('보드 상태 파싱 실패:', err);
       error.value = '보드 상태를 불러올 수 없습니다.';
     }
   }
 
+  async function loadValidMoves(gameId: number): Promise<void> {
+    try {
+      const response = await axios.get(`/api/game/${gameId}/valid-moves`);
+      legalMoves.value = response.data;
+    } catch (err) {
+      console.error('이동 가능 목록 로드 실패:', err);
+      legalMoves.value = {};
+    }
+  }
+
   async function loadMoveHistory(gameId: number): Promise<void> {
     try {
       const response = await axios.get(`/api/game/${gameId}/history`);
@@ -128,9 +184,8 @@ export const useGameStore = defineStore('game', () => {
       error.value = null;
       const response = await axios.get(`/api/game/active/${playerName}`);
       if (response.data) {
-        currentGame.value = response.data;
-        await loadGameBoard();
-        await loadMoveHistory(currentGame.value.id);
+        // 요약에는 보드가 없으므로 게임 전체를 다시 읽음
+        await loadGame(response.data.id);
       }
     } catch (err: any) {
       // 활성 게임이 없는 경우는 에러가 아님
@@ -164,6 +219,83 @@ export const useGameStore = defineStore('game', () => {
     }
   }
 
+  // 현재 게임의 변경분 구독 (같은 게임이면 유지)
+  function subscribeToGame(gameId: number): void {
+    if (subscribedGameId === gameId) return;
+    unsubscribeFromGame();
+    subscribedGameId = gameId;
+    unsubscribeGame = subscribe(`/topic/game/${gameId}`, (event: GameEvent) => {
+      applyGameEvent(event);
+    });
+  }
+
+  function unsubscribeFromGame(): void {
+    if (unsubscribeGame) {
+      unsubscribeGame();
+      unsubscribeGame = null;
+    }
+    subscribedGameId = null;
+  }
+
+  async function applyGameEvent(event: GameEvent): Promise<void> {
+    const game = currentGame.value;
+    if (!game || game.id !== event.gameId) return;
+
+    if (event.type !== GameEventType.MOVED) {
+      // 참가/퇴장은 드물고 플레이어 구성이 바뀌므로 전체를 다시 읽음
+      await loadGame(event.gameId);
+      return;
+    }
+
+    const moveNumber = event.moveNumber ?? 0;
+    const applied = game.moveCount ?? moveHistory.value.length;
+    if (moveNumber <= applied) return; // 내가 둔 수처럼 이미 반영된 변경분
+    if (moveNumber !== applied + 1 || !gameBoard.value) {
+      // 중간 변경분을 놓쳤으면 전체를 다시 읽음
+      await loadGame(event.gameId);
+      return;
+    }
+
+    const board = gameBoard.value.board;
+    const piece = board[event.fromRow!][event.fromCol!];
+    const captured = board[event.toRow!][event.toCol!];
+    if (captured) {
+      gameBoard.value.capturedPieces.push({ ...captured, isCaptured: true });
+    }
+    board[event.toRow!][event.toCol!] = piece ? { ...piece, row: event.toRow!, col: event.toCol! } : null;
+    board[event.fromRow!][event.fromCol!] = null;
+
+    moveHistory.value.push({
+      id: -moveNumber,
+      gameId: event.gameId,
+      playerName: (event.pieceColor === 'RED' ? game.redPlayerName : game.bluePlayerName) || '',
+      fromRow: event.fromRow!,
+      fromCol: event.fromCol!,
+      toRow: event.toRow!,
+      toCol: event.toCol!,
+      pieceType: event.pieceType!,
+      pieceColor: event.pieceColor!,
+      capturedPieceType: event.capturedPieceType,
+      moveNumber,
+      createdAt: new Date().toISOString()
+    });
+
+    game.moveCount = moveNumber;
+    game.currentTurn = event.currentTurn ?? game.currentTurn;
+    game.gameStatus = event.gameStatus ?? game.gameStatus;
+    game.winnerName = event.winnerName ?? game.winnerName;
+    game.checkStatus = event.checkStatus ?? game.checkStatus;
+    game.clock = event.clock;
+    selectedPiece.value = null;
+    validMoves.value = [];
+
+    if (game.gameStatus === GameStatus.IN_PROGRESS && isMyTurn.value) {
+      await loadValidMoves(game.id);
+    } else {
+      legalMoves.value = {};
+    }
+  }
+
   function selectPiece(row: number, col: number): void {
     if (!gameBoard.value || !isMyTurn.value) return;
 
@@ -171,9 +303,7 @@ export const useGameStore = defineStore('game', () => {
     if (!piece || piece.color !== getMyColor()) return;
 
     selectedPiece.value = { row, col };
-    // TODO: 서버에서 유효한 이동 목록을 가져와야 함
-    // 임시로 빈 배열로 설정
-    validMoves.value = [];
+    validMoves.value = (legalMoves.value[`${row},${col}`] || []).map(([r, c]) => ({ row: r, col: c }));
   }
 
   function deselectPiece(): void {
@@ -198,8 +328,7 @@ export const useGameStore = defineStore('game', () => {
     const targetPiece = gameBoard.value?.board[row][col];
     if (targetPiece && targetPiece.color === piece.color) return false;
 
-    // TODO: 실제 이동 규칙 검증 로직 구현
-    return true;
+    return isValidMove(row, col);
   }
 
   function setCurrentGame(game: Game): void {
@@ -207,10 +336,12 @@ export const useGameStore = defineStore('game', () => {
   }
 
   function resetGame(): void {
+    unsubscribeFromGame();
     currentGame.value = null;
     gameBoard.value = null;
     selectedPiece.value = null;
     validMoves.value = [];
+    legalMoves.value = {};
     moveHistory.value = [];
     error.value = null;
   }
@@ -221,6 +352,7 @@ export const useGameStore = defineStore('game', () => {
     gameBoard,
     selectedPiece,
     validMoves,
+    legalMoves,
     moveHistory,
     waitingGames,
     isLoading,
@@ -234,13 +366,19 @@ export const useGameStore = defineStore('game', () => {
     // Actions
     createGame,
     joinGame,
+    addAiOpponent,
+    requestMatch,
+    cancelMatch,
     loadGame,
     loadGameBoard,
     loadMoveHistory,
+    loadValidMoves,
     loadWaitingGames,
     loadCurrentGame,
     setCurrentGame,
     makeMove,
+    subscribeToGame,
+    unsubscribeFromGame,
     selectPiece,
     deselectPiece,
     isSelected,
@@ -29,12 +29,28 @@ export interface Game {
   currentTurn: PieceColor;
   gameStatus: GameStatus;
   winnerName?: string;
+  moveCount: number;
   createdAt: string;
   updatedAt: string;
-  boardState: string;
-  moveHistory?: string;
+  boardState: string; // utils/boardState의 parseBoardState로 읽음 (압축 형식 또는 기존 JSON)
+  positionKey?: string; // 현재 국면의 Zobrist 키 (16진수)
+  checkStatus?: CheckStatus; // 둘 차례인 쪽에서 본 장군/빅장 상태
+  clock?: GameClock; // 진행 중일 때 응답 시점의 서버 시계
 }
 
+// 서버 대국 시계 (기본 시간 + 초읽기). 둘 차례인 쪽의 시간만 흐름
+export interface GameClock {
+  redMainMillis: number;
+  redPeriods: number;
+  blueMainMillis: number;
+  bluePeriods: number;
+  periodMillis: number;
+  periodLeftMillis: number; // 둘 차례인 쪽이 초읽기 중일 때 이번 초읽기의 남은 시간
+}
+
+// 대기 목록/활성 게임 조회 응답. 보드 없이 목록에 필요한 필드만 담음
+export type GameSummary = Pick<Game, 'id' | 'roomTitle' | 'redPlayerName' | 'bluePlayerName' | 'currentTurn' | 'gameStatus' | 'moveCount' | 'createdAt' | 'updatedAt'>;
+
 export enum GameStatus {
   WAITING = 'WAITING',
   IN_PROGRESS = 'IN_PROGRESS',
@@ -42,6 +58,14 @@ export enum GameStatus {
   ABANDONED = 'ABANDONED'
 }
 
+export enum CheckStatus {
+  NONE = 'NONE',
+  CHECK = 'CHECK',           // 장군
+  CHECKMATE = 'CHECKMATE',   // 외통
+  STALEMATE = 'STALEMATE',   // 둘 수 있는 수 없음
+  BIKJANG = 'BIKJANG'        // 빅장
+}
+
 export interface Move {
   id: number;
   gameId: number;
@@ -69,3 +93,44 @@ export interface MoveRequest {
   toRow: number;
   toCol: number;
 }
+
+// 출발 칸("row,col") -> 이동 가능한 [row, col] 목록
+export type ValidMoveMap = Record<string, [number, number][]>;
+
+export enum GameEventType {
+  CREATED = 'CREATED',
+  JOINED = 'JOINED',
+  MATCHED = 'MATCHED',
+  MOVED = 'MOVED',
+  LEFT = 'LEFT',
+  TIMEOUT = 'TIMEOUT',
+  ABANDONED = 'ABANDONED',
+  DELETED = 'DELETED'
+}
+
+// /topic/game/{gameId}, /topic/lobby, /topic/match/{playerName} 로 오는 변경분 (보드 전체는 오지 않음)
+export interface GameEvent {
+  type: GameEventType;
+  gameId: number;
+  fromRow?: number;
+  fromCol?: number;
+  toRow?: number;
+  toCol?: number;
+  pieceType?: PieceType;
+  pieceColor?: PieceColor;
+  capturedPieceType?: PieceType;
+  moveNumber?: number;
+  checkStatus?: CheckStatus;
+  currentTurn?: PieceColor;
+  gameStatus?: GameStatus;
+  winnerName?: string;
+  redPlayerName?: string;
+  bluePlayerName?: string;
+  clock?: GameClock;
+}
+
+// POST /api/game/match 응답. WAITING이면 /topic/match/{playerName}으로 MATCHED 이벤트가 옴
+export interface MatchResult {
+  status: 'MATCHED' | 'WAITING';
+  game?: Game;
+}
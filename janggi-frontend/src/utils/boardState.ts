@@ -0,0 +1,56 @@
+import type { GameBoard, Piece } from '@/types/game';
+import { PieceColor, PieceType } from '@/types/game';
+
+// 서버의 CompactBoardCodec 형식: "c1;<FEN 말 배치>;<잡힌 말: 글자 + 칸 번호 두 자리>..."
+const COMPACT_PREFIX = 'c1;';
+
+const TYPES: Record<string, PieceType> = {
+  K: PieceType.KING,
+  A: PieceType.GUARD,
+  E: PieceType.ELEPHANT,
+  H: PieceType.HORSE,
+  R: PieceType.CHARIOT,
+  C: PieceType.CANNON,
+  P: PieceType.SOLDIER
+};
+
+function toPiece(letter: string, row: number, col: number, isCaptured: boolean): Piece {
+  const type = TYPES[letter.toUpperCase()];
+  if (!type) {
+    throw new Error(`알 수 없는 말 글자: ${letter}`);
+  }
+  const color = letter === letter.toUpperCase() ? PieceColor.RED : PieceColor.BLUE;
+  return { type, color, row, col, isCaptured };
+}
+
+function parseCompact(boardState: string): GameBoard {
+  const [placement, captured = ''] = boardState.slice(COMPACT_PREFIX.length).split(';');
+  const board: (Piece | null)[][] = placement.split('/').map((rank, row) => {
+    const cells: (Piece | null)[] = [];
+    for (const ch of rank) {
+      if (ch >= '1' && ch <= '9') {
+        for (let i = 0; i < Number(ch); i++) cells.push(null);
+      } else {
+        cells.push(toPiece(ch, row, cells.length, false));
+      }
+    }
+    return cells;
+  });
+
+  const capturedPieces: Piece[] = [];
+  for (let i = 0; i + 2 < captured.length; i += 3) {
+    const square = Number(captured.slice(i + 1, i + 3));
+    capturedPieces.push(toPiece(captured[i], Math.floor(square / 9), square % 9, true));
+  }
+  return { board, capturedPieces };
+}
+
+/**
+ * 게임의 boardState 문자열을 보드로 읽는다. 압축 형식과 기존 JSON 형식을 모두 받는다.
+ */
+export function parseBoardState(boardState: string): GameBoard {
+  if (boardState.startsWith(COMPACT_PREFIX)) {
+    return parseCompact(boardState);
+  }
+  return JSON.parse(boardState);
+}